@@ -0,0 +1,101 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.model.Reservation;
+import com.example.backend.repository.ReservationRepository;
+import com.example.backend.repository.RoomVersionRepository;
+import com.example.backend.security.JwtUtils;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Muistinvaraiset lähtötiedot suorituskykytesteille (ei tietokantaa eikä Spring-kontekstia)
+ */
+final class BenchmarkFixtures {
+
+    static final String ROOM_ID = "ROOM1";
+    static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Huoneen varaukset: 30 min varaus tunnin välein
+     */
+    static List<Reservation> reservations(int count) {
+        List<Reservation> reservations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = BASE.plusHours(i);
+            Reservation reservation = new Reservation(ROOM_ID, start, start.plusMinutes(30), "user-" + (i % 50));
+            reservation.setCreatedAt(BASE);
+            reservation.setUpdatedAt(BASE);
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+
+    /**
+     * ReservationRepository, jonka findWindowAfter palauttaa sivun annetusta listasta
+     * (valmiiksi vastauksina, kuten konstruktorilausekkeella). Muut metodit eivät ole tuettuja.
+     */
+    static ReservationRepository repository(List<Reservation> reservations) {
+        List<ReservationResponse> responses = reservations.stream()
+                .map(r -> new ReservationResponse(r.getId(), r.getRoomId(), r.getStartTime(), r.getEndTime(),
+                        r.getUser(), r.getCreatedAt(), r.getUpdatedAt()))
+                .toList();
+        return (ReservationRepository) Proxy.newProxyInstance(
+                ReservationRepository.class.getClassLoader(),
+                new Class<?>[] {ReservationRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findWindowAfter" -> {
+                        Pageable page = (Pageable) args[6];
+                        yield responses.subList(0, Math.min(page.getPageSize(), responses.size()));
+                    }
+                    case "toString" -> "BenchmarkReservationRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * RoomVersionRepository listan lukua varten; versioita ei kasvateta lukuhauissa
+     */
+    static RoomVersionRepository roomVersions() {
+        return (RoomVersionRepository) Proxy.newProxyInstance(
+                RoomVersionRepository.class.getClassLoader(),
+                new Class<?>[] {RoomVersionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findVersion" -> Optional.empty();
+                    case "toString" -> "BenchmarkRoomVersionRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * JwtUtils ilman Spring-kontekstia (@Value-kentät asetetaan suoraan)
+     */
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        setField(jwtUtils, "secret", "benchmark-secret-key-with-at-least-32-characters");
+        setField(jwtUtils, "expiration", 60L);
+        return jwtUtils;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * JWT-tokenien läpäisykyky: AuthTokenFilter validoi ja purkaa tokenin jokaisella pyynnöllä
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache tokenCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils();
+        tokenCache = new VerifiedTokenCache(jwtUtils, new SimpleMeterRegistry(), 10_000);
+        token = jwtUtils.generateToken("benchmark@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("benchmark@example.com");
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    /**
+     * Suodattimen polku: validointi ja käyttäjänimen purku
+     */
+    @Benchmark
+    public String validateAndExtractUsername() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUserNameFromJwtToken(token) : null;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String validateAndExtractUsernameContended() {
+        return validateAndExtractUsername();
+    }
+
+    /**
+     * Suodattimen nykyinen polku: toistuva token haetaan välimuistista
+     */
+    @Benchmark
+    public String cachedResolveUsername() {
+        return tokenCache.resolveUsername(token);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String cachedResolveUsernameContended() {
+        return tokenCache.resolveUsername(token);
+    }
+}
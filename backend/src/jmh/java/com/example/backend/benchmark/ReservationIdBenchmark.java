@@ -0,0 +1,64 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.model.TimeOrderedUuid;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Varaus-ID:n muodostus: satunnainen UUID merkkijonona (vanha varchar-avain) ja
+ * aikajärjestetty UUIDv7. Lisäksi avainten lisäys järjestettyyn joukkoon, joka mallintaa
+ * B-puuindeksin lisäyskohtaa (satunnainen vs. aina lopussa).
+ *
+ * Tietokannan lisäysnopeus ja indeksin koko mitataan PostgreSQL:ää vasten:
+ * src/jmh/sql/reservation-id-index.sql (make bench-uuid-index).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReservationIdBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    private NavigableSet<String> randomKeys;
+    private NavigableSet<UUID> orderedKeys;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        randomKeys = new TreeSet<>();
+        orderedKeys = new TreeSet<>();
+        for (int i = 0; i < KEYS; i++) {
+            randomKeys.add(UUID.randomUUID().toString());
+            orderedKeys.add(TimeOrderedUuid.generate());
+        }
+    }
+
+    @Benchmark
+    public String randomString() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return TimeOrderedUuid.generate();
+    }
+
+    @Benchmark
+    public boolean insertRandomString() {
+        return randomKeys.add(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public boolean insertTimeOrdered() {
+        return orderedKeys.add(TimeOrderedUuid.generate());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.response.ReservationPage;
+import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.model.Reservation;
+import com.example.backend.service.ReservationIndex;
+import com.example.backend.service.ReservationService;
+import com.example.backend.service.RoomLocks;
+import com.example.backend.service.RoomVersions;
+import com.example.backend.service.ServiceMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Varaussivun kokoaminen (ReservationService.getReservationsByRoom) ja JSON-sarjallistus
+ * Spring Bootin tavoin konfiguroidulla ObjectMapperilla. Rivien luku tietokannasta:
+ * ReservationReadBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationMappingBenchmark {
+
+    @Param({"10", "500", "100000"})
+    public int reservations;
+
+    private ReservationService service;
+    private List<ReservationResponse> responses;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Reservation> roomReservations = BenchmarkFixtures.reservations(reservations);
+        service = new ReservationService(BenchmarkFixtures.repository(roomReservations),
+                new ReservationIndex(), new RoomLocks(1), event -> { },
+                new RoomVersions(BenchmarkFixtures.roomVersions()), new ServiceMetrics(new SimpleMeterRegistry()));
+        responses = roomReservations.stream()
+                .map(r -> new ReservationResponse(r.getId().toString(), r.getRoomId(), r.getStartTime(), r.getEndTime(),
+                        r.getUser(), r.getCreatedAt(), r.getUpdatedAt()))
+                .toList();
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Yksi sivu (enintään MAX_PAGE_SIZE riviä) kursorin muodostuksineen
+     */
+    @Benchmark
+    public ReservationPage mapPage() {
+        return service.getReservationsByRoom(BenchmarkFixtures.ROOM_ID, null, null, null,
+                ReservationService.MAX_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.model.Reservation;
+import com.example.backend.service.OccupancyCalendar;
+import com.example.backend.service.ReservationChangedEvent;
+import com.example.backend.service.ReservationIndex;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Päällekkäisyystarkistus huoneessa, jossa on N varausta: alkuperäinen lineaarinen
+ * vertailu (findByRoomId + isOverlapping), aikaväli-indeksi ja bittikarttakalenteri
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReservationOverlapBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int reservations;
+
+    private List<Reservation> roomReservations;
+    private ReservationIndex index;
+    private OccupancyCalendar calendar;
+    private LocalDateTime[] probeStarts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roomReservations = BenchmarkFixtures.reservations(reservations);
+        index = new ReservationIndex();
+        calendar = new OccupancyCalendar(index, 15);
+        for (Reservation reservation : roomReservations) {
+            index.put(reservation.getId(), reservation.getRoomId(),
+                    reservation.getStartTime(), reservation.getEndTime());
+            calendar.onReservationChanged(ReservationChangedEvent.created(reservation));
+        }
+
+        Random random = new Random(42);
+        probeStarts = new LocalDateTime[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeStarts[i] = BenchmarkFixtures.BASE.plusMinutes(random.nextInt(reservations * 60));
+        }
+    }
+
+    private LocalDateTime nextProbe() {
+        next = (next + 1) & (PROBES - 1);
+        return probeStarts[next];
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        LocalDateTime start = nextProbe();
+        LocalDateTime end = start.plusMinutes(20);
+        return roomReservations.stream()
+                .anyMatch(existing -> start.isBefore(existing.getEndTime()) && end.isAfter(existing.getStartTime()));
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        LocalDateTime start = nextProbe();
+        return index.hasOverlap(BenchmarkFixtures.ROOM_ID, start, start.plusMinutes(20), null);
+    }
+
+    @Benchmark
+    public boolean occupancyCalendar() {
+        LocalDateTime start = nextProbe();
+        return calendar.isFree(BenchmarkFixtures.ROOM_ID, start, start.plusMinutes(20));
+    }
+}
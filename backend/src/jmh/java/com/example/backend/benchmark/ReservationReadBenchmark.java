@@ -0,0 +1,140 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.model.Reservation;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.SelectionQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Varauslistan sivu ja yksittäinen varaus Hibernatella H2-muistikantaa vasten: entiteetit
+ * persistence contextiin ja toResponse-kopio (aiempi toteutus, myös read-only-istunnolla)
+ * vs. konstruktorilauseke suoraan ReservationResponseen (ReservationRepository).
+ *
+ * Allokaatio pyyntöä kohden: gc.alloc.rate.norm (-prof gc, make bench-backend BENCH=ReservationRead).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationReadBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final LocalDateTime WINDOW_MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime WINDOW_MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final String WINDOW = "from Reservation r "
+            + "where r.roomId = :roomId and r.startTime < :to and r.endTime > :from "
+            + "and (r.startTime > :afterStart or (r.startTime = :afterStart and r.id > :afterId)) "
+            + "order by r.startTime, r.id";
+    private static final String RESPONSE = "select new com.example.backend.dto.response.ReservationResponse("
+            + "r.id, r.roomId, r.startTime, r.endTime, r.user, r.createdAt, r.updatedAt) ";
+
+    @Param({"10", "100", "500"})
+    public int pageSize;
+
+    private SessionFactory sessionFactory;
+    private UUID id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Ilman Spring Bootia logback kirjoittaisi Hibernaten DEBUG-lokin mittauksen sekaan
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:reservation-read;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .build())
+                .addAnnotatedClass(Reservation.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        List<Reservation> reservations = BenchmarkFixtures.reservations(ROWS);
+        sessionFactory.inTransaction(session -> reservations.forEach(session::persist));
+        id = reservations.get(ROWS / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<ReservationResponse> entityPage() {
+        return sessionFactory.fromTransaction(session -> toResponses(window(session, Reservation.class, WINDOW)));
+    }
+
+    /**
+     * Kuten entityPage, mutta readOnly-transaktion tapaan ilman dirty checking -kopioita
+     */
+    @Benchmark
+    public List<ReservationResponse> readOnlyEntityPage() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            return toResponses(window(session, Reservation.class, WINDOW));
+        });
+    }
+
+    @Benchmark
+    public List<ReservationResponse> projectionPage() {
+        return sessionFactory.fromTransaction(session -> window(session, ReservationResponse.class, RESPONSE + WINDOW));
+    }
+
+    @Benchmark
+    public ReservationResponse entityById() {
+        return sessionFactory.fromTransaction(session -> toResponse(session.find(Reservation.class, id)));
+    }
+
+    @Benchmark
+    public ReservationResponse projectionById() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery(RESPONSE + "from Reservation r where r.id = :id", ReservationResponse.class)
+                .setParameter("id", id)
+                .getSingleResult());
+    }
+
+    private <T> List<T> window(Session session, Class<T> type, String hql) {
+        SelectionQuery<T> query = session.createSelectionQuery(hql, type)
+                .setParameter("roomId", BenchmarkFixtures.ROOM_ID)
+                .setParameter("from", WINDOW_MIN)
+                .setParameter("to", WINDOW_MAX)
+                .setParameter("afterStart", WINDOW_MIN)
+                .setParameter("afterId", MIN_ID);
+        return query.setMaxResults(pageSize + 1).getResultList();
+    }
+
+    private static List<ReservationResponse> toResponses(List<Reservation> reservations) {
+        List<ReservationResponse> responses = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            responses.add(toResponse(reservation));
+        }
+        return responses;
+    }
+
+    private static ReservationResponse toResponse(Reservation reservation) {
+        return new ReservationResponse(reservation.getId(), reservation.getRoomId(), reservation.getStartTime(),
+                reservation.getEndTime(), reservation.getUser(), reservation.getCreatedAt(),
+                reservation.getUpdatedAt());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.service.RoomLocks;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Huonekohtaisen lukituksen (RoomLocks) läpäisykyky kahdeksalla säikeellä: jokainen säie
+ * omaan huoneeseensa, kaikki samaan huoneeseen ja vertailuna sama työ ilman lukkoa.
+ * Lukon sisäinen työ kuvaa päällekkäisyystarkistusta ja indeksin päivitystä.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RoomLockBenchmark {
+
+    private static final long CRITICAL_SECTION_TOKENS = 200;
+
+    private final AtomicInteger threadSequence = new AtomicInteger();
+
+    private RoomLocks locks;
+
+    @State(Scope.Thread)
+    public static class ThreadRoom {
+        private String roomId;
+
+        @Setup(Level.Trial)
+        public void setUp(RoomLockBenchmark benchmark) {
+            roomId = "room-" + benchmark.threadSequence.getAndIncrement();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        locks = new RoomLocks(64);
+    }
+
+    @Benchmark
+    public Boolean ownRoom(ThreadRoom room) {
+        return locks.withRoomLock(room.roomId, RoomLockBenchmark::criticalSection);
+    }
+
+    @Benchmark
+    public Boolean sameRoom() {
+        return locks.withRoomLock(BenchmarkFixtures.ROOM_ID, RoomLockBenchmark::criticalSection);
+    }
+
+    @Benchmark
+    public Boolean unlocked() {
+        return criticalSection();
+    }
+
+    private static Boolean criticalSection() {
+        Blackhole.consumeCPU(CRITICAL_SECTION_TOKENS);
+        return Boolean.TRUE;
+    }
+}
@@ -0,0 +1,46 @@
+-- Varaus-ID:n vertailu PostgreSQL:ssä: lisäysaika ja pääavainindeksin koko, kun avaimena on
+--   1) satunnainen UUID varchar-merkkijonona (vanha malli)
+--   2) satunnainen UUID natiivina uuid-tyyppinä
+--   3) aikajärjestetty UUIDv7 natiivina uuid-tyyppinä (nykyinen malli)
+-- Ajo: make bench-uuid-index (ROWS=1000000). Taulut luodaan väliaikaisina.
+
+\if :{?rows}
+\else
+\set rows 1000000
+\endif
+\timing on
+
+-- UUIDv7 SQL:nä (RFC 9562): 48 bitin millisekuntiaikaleima, versio 7, satunnaiset bitit
+CREATE OR REPLACE FUNCTION pg_temp.uuid_v7(ts timestamptz) RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send((extract(epoch FROM ts) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1), 'hex')::uuid
+$$ LANGUAGE sql VOLATILE;
+
+CREATE TEMP TABLE ids_varchar (id varchar(255) PRIMARY KEY, room_id varchar(255) NOT NULL);
+CREATE TEMP TABLE ids_uuid_random (id uuid PRIMARY KEY, room_id varchar(255) NOT NULL);
+CREATE TEMP TABLE ids_uuid_v7 (id uuid PRIMARY KEY, room_id varchar(255) NOT NULL);
+
+\echo 'Insert: varchar random UUID'
+INSERT INTO ids_varchar
+SELECT gen_random_uuid()::text, 'ROOM' || (n % 50) FROM generate_series(1, :rows) n;
+
+\echo 'Insert: native uuid, random'
+INSERT INTO ids_uuid_random
+SELECT gen_random_uuid(), 'ROOM' || (n % 50) FROM generate_series(1, :rows) n;
+
+\echo 'Insert: native uuid, time-ordered (v7)'
+INSERT INTO ids_uuid_v7
+SELECT pg_temp.uuid_v7(clock_timestamp() + n * interval '1 millisecond'), 'ROOM' || (n % 50)
+FROM generate_series(1, :rows) n;
+
+\timing off
+SELECT relname AS "table",
+       pg_size_pretty(pg_relation_size(relid)) AS "heap",
+       pg_size_pretty(pg_relation_size(indexrelid)) AS "primary key index"
+FROM pg_stat_user_indexes
+WHERE relname IN ('ids_varchar', 'ids_uuid_random', 'ids_uuid_v7')
+ORDER BY relname;
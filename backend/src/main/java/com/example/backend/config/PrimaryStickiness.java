@@ -0,0 +1,57 @@
+package com.example.backend.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Käyttäjät, joiden lukutransaktiot ohjataan hetken ajan pääkantaan oman kirjoituksen jälkeen,
+ * jotta käyttäjä näkee omat muutoksensa, vaikka replikka olisi jäljessä (read-your-writes).
+ *
+ * Ikkuna on tämän instanssin muistissa; kirjoitus toisessa instanssissa ei ohjaa lukuja tänne.
+ */
+public class PrimaryStickiness {
+
+    // Muistissa pidettävien käyttäjien enimmäismäärä; ylitys poistaa vanhentuneet ikkunat
+    static final int MAX_ENTRIES = 100_000;
+
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public PrimaryStickiness(long windowMillis) {
+        this(windowMillis, System::nanoTime);
+    }
+
+    PrimaryStickiness(long windowMillis, LongSupplier clock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Käyttäjä kirjoitti pääkantaan; hänen lukunsa pysyvät pääkannassa ikkunan ajan
+     */
+    public void recordWrite(String user) {
+        if (windowNanos <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (stickyUntil.size() >= MAX_ENTRIES) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+        stickyUntil.put(user, now + windowNanos);
+    }
+
+    public boolean isSticky(String user) {
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until - clock.getAsLong() > 0) {
+            return true;
+        }
+        stickyUntil.remove(user, until);
+        return false;
+    }
+}
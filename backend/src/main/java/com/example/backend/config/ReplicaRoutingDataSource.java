@@ -0,0 +1,89 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ohjaa palvelujen @Transactional(readOnly = true) -metodien yhteydet replikkaan ja muut pääkantaan.
+ *
+ * Päätös tehdään, kun yhteys todella otetaan (LazyConnectionDataSourceProxy), jolloin
+ * transaktion readOnly-tieto on jo asetettu. Spring Datan repositorioiden omat lukutransaktiot
+ * (findById ym. ilman palvelun transaktiota) jäävät pääkantaan, koska palvelut lukevat niillä
+ * rivin ennen sen muokkausta. Käyttäjä, joka juuri kirjoitti, lukee pääkannasta
+ * PrimaryStickinessin ikkunan ajan. Ikkuna alkaa vasta transaktion commitista, ja
+ * peruttu transaktio ei ohjaa lukuja. Anonyymit pyynnöt eivät kirjaa ikkunaa.
+ *
+ * Mittari: db.connections.routed (target=primary|replica).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    // Vain palvelujen transaktiot (nimi on metodin täydellinen nimi) voivat lukea replikasta
+    private static final String SERVICE_PACKAGE = "com.example.backend.service.";
+
+    private final PrimaryStickiness stickiness;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, PrimaryStickiness stickiness,
+            MeterRegistry registry) {
+        this.stickiness = stickiness;
+        this.primaryConnections = Counter.builder("db.connections.routed").tag("target", "primary")
+                .description("Connections handed out by the read/write routing data source").register(registry);
+        this.replicaConnections = Counter.builder("db.connections.routed").tag("target", "replica")
+                .description("Connections handed out by the read/write routing data source").register(registry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        (target == Target.REPLICA ? replicaConnections : primaryConnections).increment();
+        return target;
+    }
+
+    private Target route() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stickiness.recordWrite(user);
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transaction == null || !transaction.startsWith(SERVICE_PACKAGE)) {
+            return Target.PRIMARY;
+        }
+        return user != null && stickiness.isSticky(user) ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return null;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.backend.config;
 
 import com.example.backend.security.AuthTokenFilter;
+import com.example.backend.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -21,13 +24,19 @@ public class SecurityConfig {
 
     private final AuthTokenFilter authTokenFilter;
 
-    public SecurityConfig(AuthTokenFilter authTokenFilter) {
+    private final RateLimitFilter rateLimitFilter;
+
+    public SecurityConfig(AuthTokenFilter authTokenFilter, RateLimitFilter rateLimitFilter) {
         this.authTokenFilter = authTokenFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
+    /**
+     * bcrypt kustannuksella app.security.bcrypt-cost; vanhemmat tiivisteet päivitetään kirjautuessa
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-cost:10}") int cost) {
+        return new BCryptPasswordEncoder(cost);
     }
 
     @Bean
@@ -37,10 +46,16 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // SSE- ja vientivastausten ASYNC-dispatch: alkuperäinen pyyntö on jo valtuutettu,
+                        // eikä AuthTokenFilter (OncePerRequestFilter) aja dispatchia uudelleen
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/reservations/**").authenticated()
+                        .requestMatchers("/api/availability/**").authenticated()
                         .anyRequest().permitAll())
-                .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class)
+                // Rajoitus tunnistuksen jälkeen, jotta ämpäri valitaan käyttäjän mukaan
+                .addFilterAfter(rateLimitFilter, AuthTokenFilter.class);
 
         return http.build();
     }
@@ -51,7 +66,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Next-Cursor", "X-Slot-Minutes", "Retry-After", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -6,6 +6,7 @@ import com.example.backend.dto.request.RoomNameChangeRequest;
 import com.example.backend.dto.request.RoomRequest;
 import com.example.backend.dto.request.UserRequest;
 import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.dto.response.UserPage;
 import com.example.backend.dto.response.UserResponse;
 import com.example.backend.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,12 +25,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin")
 @Tag(name = "Admin", description = "Admin API for user and room management")
 public class AdminController {
 
+    public static final String NDJSON = "application/x-ndjson";
+
     // final takaa, että riippuvuus on muuttumaton
     private final AdminService adminService;
 
@@ -39,10 +44,34 @@ public class AdminController {
 
     // ============ USER MANAGEMENT ============
 
+    /**
+     * Käyttäjät sivu kerrallaan; seuraavan sivun kursori X-Next-Cursor -otsakkeessa
+     */
     @GetMapping("/users")
-    @Operation(summary = "Get all users")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(adminService.getAllUsers());
+    @Operation(summary = "Get users",
+            description = "Retrieve one page of users ordered by ID, optionally filtered by email prefix. "
+                    + "The cursor for the next page is returned in the X-Next-Cursor header.")
+    public ResponseEntity<List<UserResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(defaultValue = "" + AdminService.DEFAULT_PAGE_SIZE) int limit) {
+        UserPage page = adminService.getUsers(cursor, emailPrefix, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(ReservationController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Kaikki käyttäjät NDJSON-virtana (yksi JSON-olio riviä kohden)
+     */
+    @GetMapping(value = "/users/export", produces = NDJSON)
+    @Operation(summary = "Export users", description = "Stream all users as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String emailPrefix) {
+        StreamingResponseBody body = out -> adminService.exportUsers(emailPrefix, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @GetMapping("/users/{id}")
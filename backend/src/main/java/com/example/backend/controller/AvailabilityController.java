@@ -0,0 +1,61 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/availability")
+@Tag(name = "Availability", description = "Room availability API")
+public class AvailabilityController {
+
+    public static final String SLOT_MINUTES_HEADER = "X-Slot-Minutes";
+
+    private final AvailabilityService service;
+
+    public AvailabilityController(AvailabilityService service) {
+        this.service = service;
+    }
+
+    /**
+     * Haetaan huoneet, jotka ovat vapaina koko aikaikkunan
+     * GET /api/availability?from=&to=&minCapacity=&location=
+     */
+    @GetMapping
+    @Operation(summary = "Find available rooms",
+            description = "List active rooms with at least the given capacity that are free for the whole window")
+    public ResponseEntity<List<RoomResponse>> findAvailable(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int minCapacity,
+            @RequestParam(required = false) String location) {
+        return ResponseEntity.ok(service.findAvailableRooms(from, to, minCapacity, location));
+    }
+
+    /**
+     * Haetaan huoneen vapaat aikavälit (enintään 31 päivää)
+     * GET /api/availability/{roomId}/slots?from=&to=
+     * Aikavälin pituus minuutteina palautetaan X-Slot-Minutes -otsakkeessa.
+     */
+    @GetMapping("/{roomId}/slots")
+    @Operation(summary = "Find free slots of a room",
+            description = "List the start times of free fixed-length slots of a room within a window of at most 31 days")
+    public ResponseEntity<List<LocalDateTime>> findFreeSlots(
+            @PathVariable String roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok()
+                .header(SLOT_MINUTES_HEADER, String.valueOf(service.getSlotMinutes()))
+                .body(service.findFreeSlots(roomId, from, to));
+    }
+}
@@ -1,13 +1,24 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.request.BatchReservationRequest;
 import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.dto.response.BatchReservationResponse;
+import com.example.backend.dto.response.ReservationPage;
 import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.service.ReservationEventHub;
+import com.example.backend.service.ReservationExportService;
 import com.example.backend.service.ReservationService;
+import com.example.backend.service.RoomVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,29 +27,103 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/reservations")
 @Tag(name = "Reservations", description = "Reservation API")
 public class ReservationController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ReservationService service;
 
-    public ReservationController(ReservationService service) {
+    private final ReservationExportService exportService;
+
+    private final RoomVersions versions;
+
+    private final ReservationEventHub eventHub;
+
+    public ReservationController(ReservationService service, ReservationExportService exportService,
+            RoomVersions versions, ReservationEventHub eventHub) {
         this.service = service;
+        this.exportService = exportService;
+        this.versions = versions;
+        this.eventHub = eventHub;
     }
 
     /**
-     * Haetaan kaikki varaukset tietylle huoneelle
-     * GET /api/reservations/{roomId}
+     * Varausten vienti NDJSON-virtana (yksi JSON-olio riviä kohden)
+     * GET /api/reservations/export?from=&to=&roomId=&user=
+     */
+    @GetMapping(value = "/export", produces = AdminController.NDJSON)
+    @Operation(summary = "Export reservations",
+            description = "Stream reservations intersecting the time window as newline-delimited JSON, "
+                    + "optionally filtered by room and user")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String roomId,
+            @RequestParam(required = false) String user) {
+        exportService.validateWindow(from, to);
+        StreamingResponseBody body = out -> exportService.exportReservations(from, to, roomId, user, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(AdminController.NDJSON)).body(body);
+    }
+
+    /**
+     * Haetaan huoneen varaukset aikaikkunasta sivu kerrallaan
+     * GET /api/reservations/{roomId}?from=&to=&cursor=&limit=
+     * Seuraavan sivun kursori palautetaan X-Next-Cursor -otsakkeessa.
+     * ETag on huoneen varausversio; If-None-Match samalla versiolla palauttaa 304:n ilman tietokantahakua.
      */
     @GetMapping("/{roomId}")
-    @Operation(summary = "Get reservations by room", description = "Retrieve all reservations for a specific room")
-    public ResponseEntity<List<ReservationResponse>> getByRoom(@PathVariable String roomId) {
-        List<ReservationResponse> reservations = service.getReservationsByRoom(roomId);
-        return ResponseEntity.ok(reservations);
+    @Operation(summary = "Get reservations by room",
+            description = "Retrieve one page of reservations for a specific room, optionally within a time window. "
+                    + "The cursor for the next page is returned in the X-Next-Cursor header. "
+                    + "Responses carry the room's reservation version as ETag; a matching If-None-Match "
+                    + "returns 304 Not Modified.")
+    public ResponseEntity<List<ReservationResponse>> getByRoom(
+            @PathVariable String roomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ReservationService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long current = versions.current(roomId);
+        String etag = RoomVersions.etag(current);
+        if (matchesEtag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ReservationPage page = service.getReservationsByRoom(roomId, from, to, cursor, limit);
+        // Replikasta luettu sivu voi olla versiota vanhempi; ETag ei saa olla vastausta uudempi
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(RoomVersions.etag(Math.min(current, page.getVersion())))
+                .cacheControl(CacheControl.noCache());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Huoneen varausmuutokset Server-Sent Events -virtana
+     * GET /api/reservations/{roomId}/events
+     * Tapahtumat: created, updated, deleted (ReservationDelta) ja resync (hae lista uudelleen).
+     */
+    @GetMapping(value = "/{roomId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to room reservation changes",
+            description = "Server-Sent Events stream of created, updated and deleted reservations in the room. "
+                    + "A resync event means events were dropped and the list should be fetched again.")
+    public SseEmitter events(@PathVariable String roomId) {
+        return eventHub.subscribe(roomId);
     }
 
     /**
@@ -53,6 +138,27 @@ public class ReservationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Luodaan useita varauksia yhdellä pyynnöllä
+     * POST /api/reservations/batch
+     * 201 = kaikki luotiin, 200 = osa luotiin (BEST_EFFORT), 409 = mitään ei luotu
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create reservations in batch",
+            description = "Create many reservations in one transaction. Conflicts are checked against existing "
+                    + "reservations and within the batch; the response reports a result per item.")
+    public ResponseEntity<BatchReservationResponse> createBatch(
+            @Valid @RequestBody BatchReservationRequest request) {
+        BatchReservationResponse response = service.createReservations(request.getReservations(), request.getMode());
+        HttpStatus status = HttpStatus.CREATED;
+        if (response.getCreated() == 0) {
+            status = HttpStatus.CONFLICT;
+        } else if (response.getFailed() > 0) {
+            status = HttpStatus.OK;
+        }
+        return ResponseEntity.status(status).body(response);
+    }
+
     /**
      * Päivitetään olemassa olevaa varausta
      * PUT /api/reservations/{id}
@@ -87,4 +193,23 @@ public class ReservationController {
         ReservationResponse response = service.getReservationById(id);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * If-None-Match -vertailu (heikko vertailu, lista tai *)
+     */
+    static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
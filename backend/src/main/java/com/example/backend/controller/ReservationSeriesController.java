@@ -0,0 +1,81 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.request.CreateSeriesRequest;
+import com.example.backend.dto.response.SeriesOccurrenceResponse;
+import com.example.backend.dto.response.SeriesResponse;
+import com.example.backend.service.ReservationSeriesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/reservations/series")
+@Tag(name = "Reservation series", description = "Recurring reservation API")
+public class ReservationSeriesController {
+
+    private final ReservationSeriesService service;
+
+    public ReservationSeriesController(ReservationSeriesService service) {
+        this.service = service;
+    }
+
+    /**
+     * Luodaan toistuva varaus
+     * POST /api/reservations/series
+     */
+    @PostMapping
+    @Operation(summary = "Create recurring reservation",
+            description = "Create a daily, weekly or monthly reservation series ending at a date or after a count")
+    public ResponseEntity<SeriesResponse> create(@Valid @RequestBody CreateSeriesRequest request) {
+        SeriesResponse response = service.createSeries(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Haetaan toistuva varaus ID:n perusteella
+     * GET /api/reservations/series/detail/{id}
+     */
+    @GetMapping("/detail/{id}")
+    @Operation(summary = "Get recurring reservation by ID", description = "Retrieve a reservation series")
+    public ResponseEntity<SeriesResponse> getById(@PathVariable String id) {
+        return ResponseEntity.ok(service.getSeriesById(id));
+    }
+
+    /**
+     * Haetaan huoneen toistuvien varausten esiintymät aikaikkunasta
+     * GET /api/reservations/series/room/{roomId}?from=&to=
+     */
+    @GetMapping("/room/{roomId}")
+    @Operation(summary = "Get series occurrences by room",
+            description = "Expand the recurring reservations of a room within a bounded time window")
+    public ResponseEntity<List<SeriesOccurrenceResponse>> getOccurrences(
+            @PathVariable String roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(service.getOccurrences(roomId, from, to));
+    }
+
+    /**
+     * Poistetaan toistuva varaus
+     * DELETE /api/reservations/series/{id}
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete recurring reservation", description = "Cancel all occurrences of a series")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        service.deleteSeries(id);
+        return ResponseEntity.noContent().build();
+    }
+}
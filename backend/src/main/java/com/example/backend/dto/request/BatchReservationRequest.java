@@ -0,0 +1,55 @@
+package com.example.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BatchReservationRequest {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * ALL_OR_NOTHING: yksikin virhe peruu koko erän.
+     * BEST_EFFORT: kelvolliset varaukset tallennetaan, virheelliset raportoidaan.
+     */
+    public enum Mode {
+        ALL_OR_NOTHING,
+        BEST_EFFORT
+    }
+
+    @NotNull(message = "Tila on pakollinen")
+    private Mode mode = Mode.ALL_OR_NOTHING;
+
+    @NotEmpty(message = "Varauksia täytyy olla vähintään yksi")
+    @Size(max = MAX_BATCH_SIZE, message = "Erässä voi olla enintään " + MAX_BATCH_SIZE + " varausta")
+    private List<@Valid @NotNull CreateReservationRequest> reservations;
+
+    // Constructors
+    public BatchReservationRequest() {
+    }
+
+    public BatchReservationRequest(Mode mode, List<CreateReservationRequest> reservations) {
+        this.mode = mode;
+        this.reservations = reservations;
+    }
+
+    // Getters
+    public Mode getMode() {
+        return mode;
+    }
+
+    public List<CreateReservationRequest> getReservations() {
+        return reservations;
+    }
+
+    // Setters
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public void setReservations(List<CreateReservationRequest> reservations) {
+        this.reservations = reservations;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.dto.request;
+
+import com.example.backend.model.ReservationSeries;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Toistuvan varauksen luonti: ensimmäisen esiintymän aika, toistosääntö ja
+ * joko päättymispäivä (until) tai esiintymien määrä (count)
+ */
+public class CreateSeriesRequest {
+
+    @NotBlank(message = "Huoneen ID on pakollinen")
+    private String roomId;
+
+    @NotNull(message = "Alkamisaika on pakollinen")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "Päättymisaika on pakollinen")
+    private LocalDateTime endTime;
+
+    @NotBlank(message = "Käyttäjän nimi on pakollinen")
+    private String user;
+
+    @NotNull(message = "Toistotiheys on pakollinen")
+    private ReservationSeries.Frequency frequency;
+
+    @Min(value = 1, message = "Toistovälin täytyy olla vähintään 1")
+    private int interval = 1;
+
+    private LocalDateTime until;
+
+    @Min(value = 1, message = "Esiintymiä täytyy olla vähintään yksi")
+    private Integer count;
+
+    // Constructors
+    public CreateSeriesRequest() {
+    }
+
+    public CreateSeriesRequest(String roomId, LocalDateTime startTime, LocalDateTime endTime, String user,
+            ReservationSeries.Frequency frequency, int interval, LocalDateTime until, Integer count) {
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.user = user;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.until = until;
+        this.count = count;
+    }
+
+    // Getters
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public ReservationSeries.Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    // Setters
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public void setFrequency(ReservationSeries.Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public void setUntil(LocalDateTime until) {
+        this.until = until;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
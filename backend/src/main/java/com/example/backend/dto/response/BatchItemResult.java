@@ -0,0 +1,32 @@
+package com.example.backend.dto.response;
+
+/**
+ * Erän yksittäisen varauksen tulos. index viittaa pyynnön reservations-listan paikkaan.
+ */
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        INVALID_TIME,
+        // Varaus oli kelvollinen, mutta erä peruttiin (ALL_OR_NOTHING)
+        ABORTED
+    }
+
+    private final int index;
+    private final Status status;
+    private final ReservationResponse reservation;
+    private final String message;
+
+    public BatchItemResult(int index, Status status, ReservationResponse reservation, String message) {
+        this.index = index;
+        this.status = status;
+        this.reservation = reservation;
+        this.message = message;
+    }
+
+    public int getIndex() { return index; }
+    public Status getStatus() { return status; }
+    public ReservationResponse getReservation() { return reservation; }
+    public String getMessage() { return message; }
+}
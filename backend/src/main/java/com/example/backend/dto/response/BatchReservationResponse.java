@@ -0,0 +1,26 @@
+package com.example.backend.dto.response;
+
+import com.example.backend.dto.request.BatchReservationRequest;
+import java.util.List;
+
+public class BatchReservationResponse {
+
+    private final BatchReservationRequest.Mode mode;
+    private final int created;
+    private final int failed;
+    private final List<BatchItemResult> results;
+
+    public BatchReservationResponse(BatchReservationRequest.Mode mode, List<BatchItemResult> results) {
+        this.mode = mode;
+        this.results = results;
+        this.created = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchItemResult.Status.CREATED)
+                .count();
+        this.failed = results.size() - created;
+    }
+
+    public BatchReservationRequest.Mode getMode() { return mode; }
+    public int getCreated() { return created; }
+    public int getFailed() { return failed; }
+    public List<BatchItemResult> getResults() { return results; }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Huoneen varauslistan muutos tilaajalle (SSE). Tyyppi on tilatun huoneen näkökulmasta:
+ * toiseen huoneeseen siirretty varaus on vanhalle huoneelle DELETED ja uudelle CREATED.
+ * Poistetun varauksen ajat ovat sen viimeiset ajat.
+ */
+public class ReservationDelta {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final String reservationId;
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+
+    public ReservationDelta(Type type, String reservationId, String roomId, LocalDateTime startTime,
+            LocalDateTime endTime) {
+        this.type = type;
+        this.reservationId = reservationId;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Type getType() { return type; }
+    public String getReservationId() { return reservationId; }
+    public String getRoomId() { return roomId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Yksi sivu huoneen varauksia ja kursori seuraavalle sivulle (null, jos sivuja ei ole enempää).
+ * Sivu on vähintään yhtä tuore kuin huoneen varausversio version.
+ */
+public class ReservationPage {
+
+    private final List<ReservationResponse> items;
+    private final String nextCursor;
+    private final long version;
+
+    public ReservationPage(List<ReservationResponse> items, String nextCursor, long version) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.version = version;
+    }
+
+    public List<ReservationResponse> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public long getVersion() { return version; }
+}
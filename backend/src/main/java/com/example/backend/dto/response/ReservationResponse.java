@@ -1,6 +1,7 @@
 package com.example.backend.dto.response;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 public class ReservationResponse {
     
@@ -28,6 +29,15 @@ public class ReservationResponse {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * JPQL-konstruktorilauseketta varten (ReservationRepository): rivi luetaan suoraan DTO:ksi
+     */
+    public ReservationResponse(UUID id, String roomId, LocalDateTime startTime,
+            LocalDateTime endTime, String user, LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+        this(id.toString(), roomId, startTime, endTime, user, createdAt, updatedAt);
+    }
+
     // Getters
     public String getId() {
         return id;
@@ -0,0 +1,33 @@
+package com.example.backend.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Yksi toistuvan varauksen esiintymä (laskettu, ei tallennettu)
+ */
+public class SeriesOccurrenceResponse {
+
+    private final String seriesId;
+    private final long index;
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final String user;
+
+    public SeriesOccurrenceResponse(String seriesId, long index, String roomId, LocalDateTime startTime,
+            LocalDateTime endTime, String user) {
+        this.seriesId = seriesId;
+        this.index = index;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.user = user;
+    }
+
+    public String getSeriesId() { return seriesId; }
+    public long getIndex() { return index; }
+    public String getRoomId() { return roomId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public String getUser() { return user; }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.dto.response;
+
+import com.example.backend.model.ReservationSeries;
+import java.time.LocalDateTime;
+
+/**
+ * Toistuva varaus: sääntö, esiintymien määrä ja viimeisen esiintymän loppu
+ */
+public class SeriesResponse {
+
+    private final String id;
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final String user;
+    private final ReservationSeries.Frequency frequency;
+    private final int interval;
+    private final LocalDateTime until;
+    private final long occurrences;
+    private final LocalDateTime lastEndTime;
+
+    public SeriesResponse(String id, String roomId, LocalDateTime startTime, LocalDateTime endTime, String user,
+            ReservationSeries.Frequency frequency, int interval, LocalDateTime until, long occurrences,
+            LocalDateTime lastEndTime) {
+        this.id = id;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.user = user;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.until = until;
+        this.occurrences = occurrences;
+        this.lastEndTime = lastEndTime;
+    }
+
+    public String getId() { return id; }
+    public String getRoomId() { return roomId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public String getUser() { return user; }
+    public ReservationSeries.Frequency getFrequency() { return frequency; }
+    public int getInterval() { return interval; }
+    public LocalDateTime getUntil() { return until; }
+    public long getOccurrences() { return occurrences; }
+    public LocalDateTime getLastEndTime() { return lastEndTime; }
+}
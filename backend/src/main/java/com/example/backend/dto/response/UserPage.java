@@ -0,0 +1,20 @@
+package com.example.backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Yksi sivu käyttäjiä ja kursori seuraavalle sivulle (null, jos sivuja ei ole enempää)
+ */
+public class UserPage {
+
+    private final List<UserResponse> items;
+    private final String nextCursor;
+
+    public UserPage(List<UserResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserResponse> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
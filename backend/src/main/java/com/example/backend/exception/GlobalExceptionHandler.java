@@ -3,6 +3,8 @@ package com.example.backend.exception;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -68,6 +70,35 @@ public class GlobalExceptionHandler {
                                 ex.getMessage());
         }
 
+        /**
+         * Kysely ylitti aikarajansa
+         */
+        @ExceptionHandler(QueryTimeoutException.class)
+        public ResponseEntity<Map<String, Object>> handleQueryTimeout(
+                        QueryTimeoutException ex) {
+
+                return buildErrorResponse(
+                                HttpStatus.SERVICE_UNAVAILABLE,
+                                "Aikaraja ylittyi",
+                                "Haku kesti liian kauan. Yritä uudelleen.");
+        }
+
+        /**
+         * Ylikuormitus: pyyntö hylättiin jonottamatta
+         */
+        @ExceptionHandler(ServiceBusyException.class)
+        public ResponseEntity<Map<String, Object>> handleServiceBusy(
+                        ServiceBusyException ex) {
+
+                ResponseEntity<Map<String, Object>> response = buildErrorResponse(
+                                HttpStatus.SERVICE_UNAVAILABLE,
+                                "Palvelu ruuhkautunut",
+                                ex.getMessage());
+                return ResponseEntity.status(response.getStatusCode())
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(response.getBody());
+        }
+
         /**
          * Catch-all fallback
          */
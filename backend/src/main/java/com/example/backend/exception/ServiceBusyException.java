@@ -0,0 +1,10 @@
+package com.example.backend.exception;
+
+/**
+ * Palvelu on ylikuormittunut ja pyyntö hylättiin heti (503, Retry-After)
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.journal;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Yksi muutospäiväkirjan tietue luettuna. Poiston ajat ja huone ovat varauksen viimeinen tila.
+ */
+public class JournalRecord {
+
+    public enum Op {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final long sequence;
+    private final Instant timestamp;
+    private final Op op;
+    private final UUID reservationId;
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final String user;
+    // Huone tai käyttäjä ei mahtunut kiinteään kenttään
+    private final boolean truncated;
+
+    public JournalRecord(long sequence, Instant timestamp, Op op, UUID reservationId, String roomId,
+            LocalDateTime startTime, LocalDateTime endTime, String user, boolean truncated) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.op = op;
+        this.reservationId = reservationId;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.user = user;
+        this.truncated = truncated;
+    }
+
+    public long getSequence() { return sequence; }
+    public Instant getTimestamp() { return timestamp; }
+    public Op getOp() { return op; }
+    public UUID getReservationId() { return reservationId; }
+    public String getRoomId() { return roomId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public String getUser() { return user; }
+    public boolean isTruncated() { return truncated; }
+}
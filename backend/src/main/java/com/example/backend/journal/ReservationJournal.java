@@ -0,0 +1,381 @@
+package com.example.backend.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Varausmuutosten paikallinen, vain lisäävä päiväkirja muistiin kuvatuissa segmenttitiedostoissa.
+ *
+ * Tietueet ovat kiinteän kokoisia (RECORD_SIZE), joten järjestysnumerosta saadaan suoraan
+ * segmentti ja sijainti, ja toisto voi alkaa mistä tahansa kohdasta. Segmentin nimi on sen
+ * ensimmäinen järjestysnumero; täysi segmentti vaihdetaan uuteen. Lisäys kirjoittaa kentät
+ * suoraan kuvattuun puskuriin eikä varaa olioita (merkkijonot koodataan UTF-8:ksi merkki
+ * kerrallaan). Tietueen lopussa on CRC32C, joten kesken jäänyt kirjoitus tunnistetaan
+ * avattaessa ja sen paikalle kirjoitetaan seuraava tietue.
+ *
+ * Levylle pakotus (fsync) tehdään erissä: joka fsyncEvery:s lisäys tai force()-kutsu
+ * pakottaa edellisen pakotuksen jälkeen kirjoitetut tietueet.
+ *
+ * Tietueen rakenne (tavuina):
+ * <pre>
+ *   0 sequence (long)        8 timestamp, epoch ms (long)   16 op (byte)   17 flags (byte)
+ *  18 roomId length (short) 20 user length (short)         24 id (2 x long)
+ *  40 start, epoch s UTC    48 end, epoch s UTC            56 start nanos (int)  60 end nanos (int)
+ *  64 roomId, UTF-8 (64)   128 user, UTF-8 (124)          252 CRC32C tavuista 0..251 (int)
+ * </pre>
+ */
+public final class ReservationJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 256;
+
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int OP = 16;
+    private static final int FLAGS = 17;
+    private static final int ROOM_LENGTH = 18;
+    private static final int USER_LENGTH = 20;
+    private static final int ID_MOST = 24;
+    private static final int ID_LEAST = 32;
+    private static final int START_SECOND = 40;
+    private static final int END_SECOND = 48;
+    private static final int START_NANO = 56;
+    private static final int END_NANO = 60;
+    private static final int ROOM = 64;
+    private static final int ROOM_BYTES = 64;
+    private static final int USER = 128;
+    private static final int USER_BYTES = 124;
+    private static final int CRC = 252;
+
+    private static final byte FLAG_TRUNCATED = 1;
+    // null-merkkijonon pituus
+    private static final short NULL_LENGTH = -1;
+
+    private static final String SUFFIX = ".journal";
+    private static final JournalRecord.Op[] OPS = JournalRecord.Op.values();
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int fsyncEvery;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+
+    private Segment segment;
+    private long nextSequence;
+    private int unsynced;
+    private boolean truncated;
+
+    private ReservationJournal(Path directory, int recordsPerSegment, int fsyncEvery) {
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.fsyncEvery = fsyncEvery;
+    }
+
+    /**
+     * Avaa päiväkirjan hakemistosta ja jatkaa viimeisen kelvollisen tietueen perään
+     *
+     * @param segmentBytes segmentin koko (pyöristetään alas tietueen koon monikertaan)
+     * @param fsyncEvery   pakota levylle joka n:nnen lisäyksen jälkeen, 0 = vain force()
+     */
+    public static ReservationJournal open(Path directory, long segmentBytes, int fsyncEvery) throws IOException {
+        Files.createDirectories(directory);
+        long records = Math.min(segmentBytes / RECORD_SIZE, Integer.MAX_VALUE / RECORD_SIZE);
+        ReservationJournal journal = new ReservationJournal(directory, (int) Math.max(1, records), fsyncEvery);
+
+        List<Long> segments = segmentSequences(directory);
+        if (segments.isEmpty()) {
+            journal.segment = journal.createSegment(1);
+            journal.nextSequence = 1;
+            return journal;
+        }
+
+        long first = segments.get(segments.size() - 1);
+        Segment last = journal.mapSegment(first);
+        ByteBuffer reader = last.buffer.duplicate();
+        CRC32C check = new CRC32C();
+        int count = 0;
+        while (count < last.capacity && isValid(reader, count * RECORD_SIZE, first + count, check)) {
+            count++;
+        }
+        last.records = count;
+        last.synced = count;
+        journal.segment = last;
+        journal.nextSequence = first + count;
+        return journal;
+    }
+
+    /**
+     * Lisää tietueen ja palauttaa sen järjestysnumeron. Ei varaa olioita.
+     */
+    public long append(JournalRecord.Op op, UUID reservationId, String roomId, LocalDateTime start,
+            LocalDateTime end, String user) throws IOException {
+        long sequence;
+        boolean sync;
+        lock.lock();
+        try {
+            if (segment.records == segment.capacity) {
+                roll();
+            }
+            MappedByteBuffer buffer = segment.buffer;
+            int base = segment.records * RECORD_SIZE;
+            sequence = nextSequence;
+
+            truncated = false;
+            int roomLength = putUtf8(buffer, base + ROOM, ROOM_BYTES, roomId);
+            int userLength = putUtf8(buffer, base + USER, USER_BYTES, user);
+
+            buffer.putLong(base + SEQUENCE, sequence);
+            buffer.putLong(base + TIMESTAMP, System.currentTimeMillis());
+            buffer.put(base + OP, (byte) op.ordinal());
+            buffer.put(base + FLAGS, truncated ? FLAG_TRUNCATED : 0);
+            buffer.putShort(base + ROOM_LENGTH, (short) roomLength);
+            buffer.putShort(base + USER_LENGTH, (short) userLength);
+            buffer.putLong(base + ID_MOST, reservationId.getMostSignificantBits());
+            buffer.putLong(base + ID_LEAST, reservationId.getLeastSignificantBits());
+            buffer.putLong(base + START_SECOND, start != null ? start.toEpochSecond(ZoneOffset.UTC) : 0);
+            buffer.putLong(base + END_SECOND, end != null ? end.toEpochSecond(ZoneOffset.UTC) : 0);
+            buffer.putInt(base + START_NANO, start != null ? start.getNano() : 0);
+            buffer.putInt(base + END_NANO, end != null ? end.getNano() : 0);
+
+            ByteBuffer view = segment.crcView;
+            view.clear();
+            view.limit(base + CRC).position(base);
+            crc.reset();
+            crc.update(view);
+            buffer.putInt(base + CRC, (int) crc.getValue());
+
+            segment.records++;
+            nextSequence++;
+            sync = fsyncEvery > 0 && ++unsynced >= fsyncEvery;
+        } finally {
+            lock.unlock();
+        }
+        if (sync) {
+            force();
+        }
+        return sequence;
+    }
+
+    /**
+     * Pakottaa edellisen pakotuksen jälkeen lisätyt tietueet levylle
+     */
+    public void force() {
+        Segment target;
+        int from;
+        int to;
+        lock.lock();
+        try {
+            target = segment;
+            from = target.synced;
+            to = target.records;
+            target.synced = to;
+            unsynced = 0;
+        } finally {
+            lock.unlock();
+        }
+        if (to > from) {
+            target.buffer.force(from * RECORD_SIZE, (to - from) * RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Toistaa tietueet järjestysnumerosta fromSequence alkaen (poistetut segmentit ohitetaan)
+     *
+     * @return seuraavan toistamattoman tietueen järjestysnumero
+     */
+    public long replay(long fromSequence, Consumer<JournalRecord> consumer) throws IOException {
+        long sequence = Math.max(1, fromSequence);
+        List<Long> segments = segmentSequences(directory);
+        CRC32C check = new CRC32C();
+        for (int i = 0; i < segments.size(); i++) {
+            long first = segments.get(i);
+            long next = i + 1 < segments.size() ? segments.get(i + 1) : Long.MAX_VALUE;
+            if (sequence >= next) {
+                continue;
+            }
+            sequence = Math.max(sequence, first);
+
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(segmentPath(directory, first), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            int records = buffer.capacity() / RECORD_SIZE;
+            for (int index = (int) (sequence - first); index < records; index++) {
+                int base = index * RECORD_SIZE;
+                if (!isValid(buffer, base, sequence, check)) {
+                    return sequence;
+                }
+                consumer.accept(read(buffer, base));
+                sequence++;
+            }
+        }
+        return sequence;
+    }
+
+    public long nextSequence() {
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private void roll() throws IOException {
+        Segment full = segment;
+        if (full.records > full.synced) {
+            full.buffer.force(full.synced * RECORD_SIZE, (full.records - full.synced) * RECORD_SIZE);
+        }
+        segment = createSegment(nextSequence);
+        unsynced = 0;
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        Segment created = mapSegment(firstSequence);
+        created.records = 0;
+        created.synced = 0;
+        return created;
+    }
+
+    private Segment mapSegment(long firstSequence) throws IOException {
+        Path path = segmentPath(directory, firstSequence);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Olemassa olevan segmentin koko säilyy, vaikka asetus olisi muuttunut
+            long size = Math.max(channel.size(), (long) recordsPerSegment * RECORD_SIZE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(buffer);
+        }
+    }
+
+    /**
+     * Koodaa merkkijonon UTF-8:ksi suoraan puskuriin; ei mahtuvat merkit jätetään pois (truncated)
+     *
+     * @return kirjoitettujen tavujen määrä tai NULL_LENGTH
+     */
+    private int putUtf8(MappedByteBuffer buffer, int offset, int maxBytes, String value) {
+        if (value == null) {
+            return NULL_LENGTH;
+        }
+        int written = 0;
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = value.codePointAt(i);
+            int bytes = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (written + bytes > maxBytes) {
+                truncated = true;
+                break;
+            }
+            int at = offset + written;
+            switch (bytes) {
+                case 1 -> buffer.put(at, (byte) codePoint);
+                case 2 -> {
+                    buffer.put(at, (byte) (0xC0 | (codePoint >> 6)));
+                    buffer.put(at + 1, (byte) (0x80 | (codePoint & 0x3F)));
+                }
+                case 3 -> {
+                    buffer.put(at, (byte) (0xE0 | (codePoint >> 12)));
+                    buffer.put(at + 1, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put(at + 2, (byte) (0x80 | (codePoint & 0x3F)));
+                }
+                default -> {
+                    buffer.put(at, (byte) (0xF0 | (codePoint >> 18)));
+                    buffer.put(at + 1, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.put(at + 2, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put(at + 3, (byte) (0x80 | (codePoint & 0x3F)));
+                }
+            }
+            written += bytes;
+            i += Character.charCount(codePoint);
+        }
+        return written;
+    }
+
+    private static boolean isValid(ByteBuffer buffer, int base, long expectedSequence, CRC32C check) {
+        if (buffer.getLong(base + SEQUENCE) != expectedSequence) {
+            return false;
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.clear();
+        view.limit(base + CRC).position(base);
+        check.reset();
+        check.update(view);
+        return (int) check.getValue() == buffer.getInt(base + CRC);
+    }
+
+    private static JournalRecord read(ByteBuffer buffer, int base) {
+        byte flags = buffer.get(base + FLAGS);
+        return new JournalRecord(
+                buffer.getLong(base + SEQUENCE),
+                Instant.ofEpochMilli(buffer.getLong(base + TIMESTAMP)),
+                OPS[buffer.get(base + OP)],
+                new UUID(buffer.getLong(base + ID_MOST), buffer.getLong(base + ID_LEAST)),
+                getUtf8(buffer, base + ROOM, buffer.getShort(base + ROOM_LENGTH)),
+                LocalDateTime.ofEpochSecond(buffer.getLong(base + START_SECOND),
+                        buffer.getInt(base + START_NANO), ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(buffer.getLong(base + END_SECOND),
+                        buffer.getInt(base + END_NANO), ZoneOffset.UTC),
+                getUtf8(buffer, base + USER, buffer.getShort(base + USER_LENGTH)),
+                (flags & FLAG_TRUNCATED) != 0);
+    }
+
+    private static String getUtf8(ByteBuffer buffer, int offset, int length) {
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> segmentSequences(Path directory) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .forEach(name -> sequences.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length()))));
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+
+    private static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+    }
+
+    private static final class Segment {
+        private final MappedByteBuffer buffer;
+        // CRC-laskennan näkymä, luodaan kerran segmenttiä kohden
+        private final ByteBuffer crcView;
+        private final int capacity;
+        private int records;
+        private int synced;
+
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.crcView = buffer.duplicate();
+            this.capacity = buffer.capacity() / RECORD_SIZE;
+        }
+    }
+}
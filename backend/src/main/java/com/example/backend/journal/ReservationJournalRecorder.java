@@ -0,0 +1,86 @@
+package com.example.backend.journal;
+
+import com.example.backend.service.ReservationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kirjaa jokaisen ReservationServicen muutoksen paikalliseen muutospäiväkirjaan (auditointi).
+ *
+ * Tapahtuma julkaistaan huoneen lukon sisällä tallennuksen jälkeen, joten saman huoneen
+ * muutokset ovat päiväkirjassa järjestyksessä. Kirjaus ei kasvata tietokannan kirjoituksia;
+ * pakotus levylle tehdään erissä (app.journal.fsync-every ja app.journal.fsync-interval-ms).
+ * Kirjausvirhe ei kaada jo tallennettua varausta, vaan se kirjataan lokiin ja mittariin.
+ *
+ * Mittarit: reservation.journal.appends, reservation.journal.failures ja reservation.journal.fsync.
+ */
+@Component
+@ConditionalOnProperty(name = "app.journal.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationJournalRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationJournalRecorder.class);
+
+    private final ReservationJournal journal;
+    private final Counter appends;
+    private final Counter failures;
+    private final Timer fsync;
+
+    public ReservationJournalRecorder(MeterRegistry registry,
+            @Value("${app.journal.dir:data/journal}") String directory,
+            @Value("${app.journal.segment-bytes:67108864}") long segmentBytes,
+            @Value("${app.journal.fsync-every:1024}") int fsyncEvery) throws IOException {
+        this.journal = ReservationJournal.open(Path.of(directory), segmentBytes, fsyncEvery);
+        this.appends = Counter.builder("reservation.journal.appends")
+                .description("Reservation changes written to the change journal").register(registry);
+        this.failures = Counter.builder("reservation.journal.failures")
+                .description("Reservation changes that could not be journaled").register(registry);
+        this.fsync = Timer.builder("reservation.journal.fsync")
+                .description("Forcing journaled changes to disk").register(registry);
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        boolean deleted = event.getType() == ReservationChangedEvent.Type.DELETED;
+        try {
+            journal.append(JournalRecord.Op.valueOf(event.getType().name()),
+                    event.getReservationUuid(),
+                    deleted ? event.getPreviousRoomId() : event.getRoomId(),
+                    deleted ? event.getPreviousStartTime() : event.getStartTime(),
+                    deleted ? event.getPreviousEndTime() : event.getEndTime(),
+                    event.getUser());
+            appends.increment();
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            logger.error("Could not journal {} of reservation {}: {}",
+                    event.getType(), event.getReservationId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Pakottaa edellisen pakotuksen jälkeen kirjatut muutokset levylle
+     */
+    @Scheduled(fixedDelayString = "${app.journal.fsync-interval-ms:1000}")
+    public void flush() {
+        fsync.record(journal::force);
+    }
+
+    public ReservationJournal getJournal() {
+        return journal;
+    }
+
+    @PreDestroy
+    void close() {
+        journal.close();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.model;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Yläluokka entiteeteille, joiden ID asetetaan sovelluksessa ennen tallennusta.
+ *
+ * Spring Data päättelee uutuuden oletuksena ID:stä, joten valmiiksi asetettu ID johtaisi
+ * merge-kutsuun ja ylimääräiseen SELECT-lauseeseen ennen jokaista INSERTiä. Uusi olio on
+ * uusi, kunnes se on tallennettu tai ladattu tietokannasta, jolloin save kutsuu persistiä.
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.isNew = false;
+    }
+}
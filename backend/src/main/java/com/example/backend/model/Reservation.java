@@ -10,10 +10,12 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 @Table(name = "reservations")
-public class Reservation {
+public class Reservation extends AssignedIdEntity<UUID> {
 
+    // Natiivi uuid-sarake (16 tavua); aikajärjestys pitää pääavainindeksin kompaktina
     @Id
-    private String id;
+    @Column(name = "id", nullable = false, updatable = false)
+    private UUID id;
 
     @Column(name = "room_id", nullable = false)
     private String roomId;
@@ -37,11 +39,11 @@ public class Reservation {
 
     // Constructors
     public Reservation() {
-        this.id = UUID.randomUUID().toString();
+        this.id = TimeOrderedUuid.generate();
     }
 
     public Reservation(String roomId, LocalDateTime startTime, LocalDateTime endTime, String user) {
-        this.id = UUID.randomUUID().toString();
+        this.id = TimeOrderedUuid.generate();
         this.roomId = roomId;
         this.startTime = startTime;
         this.endTime = endTime;
@@ -49,7 +51,8 @@ public class Reservation {
     }
 
     // Getters
-    public String getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
 
@@ -78,7 +81,7 @@ public class Reservation {
     }
 
     // Setters
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -109,7 +112,7 @@ public class Reservation {
     @Override
     public String toString() {
         return "Reservation{" +
-                "id='" + id + '\'' +
+                "id=" + id +
                 ", roomId='" + roomId + '\'' +
                 ", startTime=" + startTime +
                 ", endTime=" + endTime +
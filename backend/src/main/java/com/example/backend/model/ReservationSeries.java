@@ -0,0 +1,172 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Toistuva varaus tallennettuna yhtenä sääntönä. Esiintymiä ei tallenneta,
+ * vaan ne lasketaan säännöstä tarvittavalle aikavälille.
+ */
+@Entity
+@Table(name = "reservation_series")
+public class ReservationSeries extends AssignedIdEntity<String> {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+
+    @Id
+    private String id;
+
+    @Column(name = "room_id", nullable = false)
+    private String roomId;
+
+    // Ensimmäisen esiintymän alku ja loppu
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "username", nullable = false)
+    private String user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 16)
+    private Frequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private int intervalCount = 1;
+
+    // Viimeinen sallittu alkamisaika (joko until tai occurrenceCount)
+    @Column(name = "until_time")
+    private LocalDateTime until;
+
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ReservationSeries() {
+        this.id = UUID.randomUUID().toString();
+    }
+
+    // Getters
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getIntervalCount() {
+        return intervalCount;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // Setters
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public void setUser(String user) {
+        this.user = user;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public void setIntervalCount(int intervalCount) {
+        this.intervalCount = intervalCount;
+    }
+
+    public void setUntil(LocalDateTime until) {
+        this.until = until;
+    }
+
+    public void setOccurrenceCount(Integer occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationSeries{" +
+                "id='" + id + '\'' +
+                ", roomId='" + roomId + '\'' +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", frequency=" + frequency +
+                ", intervalCount=" + intervalCount +
+                ", until=" + until +
+                ", occurrenceCount=" + occurrenceCount +
+                '}';
+    }
+}
@@ -4,12 +4,19 @@ import jakarta.persistence.*;
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
 @Table(name = "rooms")
-public class Room {
+// Toisen tason välimuisti; alueen koko ja TTL: application.conf (caffeine.jcache.rooms)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Room.CACHE_REGION)
+public class Room extends AssignedIdEntity<String> {
+
+    public static final String CACHE_REGION = "rooms";
 
     @Id
     @Column(name = "room_id")
@@ -50,6 +57,7 @@ public class Room {
     }
 
     // Getters
+    @Override
     public String getId() {
         return id;
     }
@@ -0,0 +1,34 @@
+package com.example.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Huoneen varauslistan versio. Rivejä päivitetään vain RoomVersionRepository.bump-kyselyllä.
+ */
+@Entity
+@Immutable
+@Table(name = "room_reservation_versions")
+public class RoomVersion {
+
+    @Id
+    @Column(name = "room_id")
+    private String roomId;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    protected RoomVersion() {
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.backend.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aikajärjestetyt UUID-tunnisteet (UUIDv7, RFC 9562).
+ *
+ * 48 ylintä bittiä ovat millisekuntiaikaleima, joten uudet avaimet päätyvät B-puuindeksin
+ * loppuun eivätkä satunnaisiin lehtisivuihin. Saman millisekunnin sisällä 12-bittinen laskuri
+ * (rand_a) pitää tunnisteet kasvavina tässä JVM:ssä; laskurin ylivuoto lainaa seuraavan
+ * millisekunnin. Loput 62 bittiä ovat satunnaisia.
+ */
+public final class TimeOrderedUuid {
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    // Viimeksi käytetty (aikaleima << 12 | laskuri)
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuid() {
+    }
+
+    public static UUID generate() {
+        return generate(System.currentTimeMillis());
+    }
+
+    static UUID generate(long epochMillis) {
+        long candidate = epochMillis << 12;
+        long sequence = LAST.accumulateAndGet(candidate, (last, next) -> next > last ? next : last + 1);
+
+        long timestamp = sequence >>> 12;
+        long counter = sequence & 0xFFF;
+        long mostSignificant = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificant = (RANDOM.get().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Tunnisteen aikaleima millisekunteina
+     */
+    public static long timestampOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -1,9 +1,113 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.response.ReservationResponse;
 import com.example.backend.model.Reservation;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ReservationRepository extends JpaRepository<Reservation, String> {
-    List<Reservation> findByRoomId(String roomId);
-}
\ No newline at end of file
+public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+
+    int EXPORT_FETCH_SIZE = 1000;
+
+    /**
+     * Haetaan kaikkien varausten aikavälit ilman entiteettien latausta
+     */
+    @Query("select r.id as id, r.roomId as roomId, r.startTime as startTime, r.endTime as endTime "
+            + "from Reservation r")
+    List<ReservationSlot> findAllSlots();
+
+    /**
+     * Haetaan huoneen aikaikkunaa [from, to) leikkaavat varaukset (start_time, id) -järjestyksessä
+     * kursorin (afterStart, afterId) jälkeen. Sivun koko rajataan Pageable-parametrilla.
+     * Rivit luetaan suoraan vastauksiksi, joten entiteettejä ei liitetä persistence contextiin.
+     *
+     * minStart rajaa indeksihaun alun (from - varauksen enimmäiskesto, tai kursori, jos se on
+     * myöhemmin), jotta huoneen vanhempaa historiaa ei lueta.
+     */
+    @Query("select new com.example.backend.dto.response.ReservationResponse("
+            + "r.id, r.roomId, r.startTime, r.endTime, r.user, r.createdAt, r.updatedAt) "
+            + "from Reservation r "
+            + "where r.roomId = :roomId and r.startTime >= :minStart and r.startTime < :to and r.endTime > :from "
+            + "and (r.startTime > :afterStart or (r.startTime = :afterStart and r.id > :afterId)) "
+            + "order by r.startTime, r.id")
+    List<ReservationResponse> findWindowAfter(
+            @Param("roomId") String roomId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("minStart") LocalDateTime minStart,
+            @Param("afterStart") LocalDateTime afterStart,
+            @Param("afterId") UUID afterId,
+            Pageable page);
+
+    /**
+     * Haetaan yksittäinen varaus suoraan vastaukseksi (ei entiteettiä)
+     */
+    @Query("select new com.example.backend.dto.response.ReservationResponse("
+            + "r.id, r.roomId, r.startTime, r.endTime, r.user, r.createdAt, r.updatedAt) "
+            + "from Reservation r where r.id = :id")
+    Optional<ReservationResponse> findResponseById(@Param("id") UUID id);
+
+    /**
+     * Vientiä varten: aikaikkunaa [from, to) leikkaavat varaukset (start_time, id) -järjestyksessä.
+     * Rivit haetaan JDBC-kursorilla erissä, joten virta täytyy kuluttaa transaktion sisällä.
+     * Suodattimille on omat kyselynsä, koska "(:param is null or ...)" -ehto estää indeksin käytön.
+     */
+    @Query("select r.id as id, r.roomId as roomId, r.startTime as startTime, r.endTime as endTime, "
+            + "r.user as user, r.createdAt as createdAt, r.updatedAt as updatedAt "
+            + "from Reservation r "
+            + "where r.startTime < :to and r.endTime > :from "
+            + "order by r.startTime, r.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ReservationRow> streamForExport(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Vienti huoneen mukaan, lisäsuodattimena käyttäjä (null = kaikki)
+     */
+    @Query("select r.id as id, r.roomId as roomId, r.startTime as startTime, r.endTime as endTime, "
+            + "r.user as user, r.createdAt as createdAt, r.updatedAt as updatedAt "
+            + "from Reservation r "
+            + "where r.roomId = :roomId and r.startTime < :to and r.endTime > :from "
+            + "and (:user is null or r.user = :user) "
+            + "order by r.startTime, r.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ReservationRow> streamForExportByRoom(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("roomId") String roomId,
+            @Param("user") String user);
+
+    /**
+     * Vienti käyttäjän mukaan (kaikki huoneet)
+     */
+    @Query("select r.id as id, r.roomId as roomId, r.startTime as startTime, r.endTime as endTime, "
+            + "r.user as user, r.createdAt as createdAt, r.updatedAt as updatedAt "
+            + "from Reservation r "
+            + "where r.user = :user and r.startTime < :to and r.endTime > :from "
+            + "order by r.startTime, r.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ReservationRow> streamForExportByUser(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("user") String user);
+}
@@ -0,0 +1,16 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Varauksen sarakkeet ilman entiteettiä: rivejä ei liitetä persistence contextiin,
+ * joten virtana luettu vienti ei kasvata muistinkäyttöä
+ */
+public interface ReservationRow extends ReservationSlot {
+
+    String getUser();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.ReservationSeries;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, String> {
+
+    /**
+     * Haetaan huoneen toistuvat varaukset
+     */
+    List<ReservationSeries> findByRoomId(String roomId);
+}
@@ -0,0 +1,18 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Varauksen aikaväli ilman muita sarakkeita (indeksin alustusta varten)
+ */
+public interface ReservationSlot {
+
+    UUID getId();
+
+    String getRoomId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
@@ -1,14 +1,20 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Room;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface RoomRepository extends JpaRepository<Room, String> {
-    
+
+    // Huoneluettelon latauksen aikaraja millisekunteina (varmistus; luettelo luetaan muistista)
+    String ACTIVE_ROOMS_TIMEOUT_MS = "2000";
+
     /**
      * Haetaan kaikki aktiiviset huoneet
      */
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = ACTIVE_ROOMS_TIMEOUT_MS))
     List<Room> findByIsActiveTrue();
     
     /**
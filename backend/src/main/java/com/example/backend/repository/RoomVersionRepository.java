@@ -0,0 +1,35 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.RoomVersion;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RoomVersionRepository extends JpaRepository<RoomVersion, String> {
+
+    /**
+     * Kasvatetaan huoneen versiota yhdellä lauseella (rivi luodaan tarvittaessa).
+     * MERGE toimii sekä PostgreSQL 15+:ssa että H2:ssa. Kyselyn taulu kerrotaan Hibernatelle,
+     * muuten natiivi päivitys tyhjentäisi koko toisen tason välimuistin.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_reservation_versions"))
+    @Query(value = "MERGE INTO room_reservation_versions v "
+            + "USING (VALUES (CAST(:roomId AS VARCHAR(255)))) AS s(room_id) ON v.room_id = s.room_id "
+            + "WHEN MATCHED THEN UPDATE SET version = v.version + 1 "
+            + "WHEN NOT MATCHED THEN INSERT (room_id, version) VALUES (s.room_id, 1)", nativeQuery = true)
+    int bump(@Param("roomId") String roomId);
+
+    /**
+     * Haetaan huoneen versio (puuttuu, jos huoneeseen ei ole vielä kirjoitettu)
+     */
+    @Query("select v.version from RoomVersion v where v.roomId = :roomId")
+    Optional<Long> findVersion(@Param("roomId") String roomId);
+}
@@ -0,0 +1,15 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.User;
+import java.util.Optional;
+
+/**
+ * Käyttäjän haku sähköpostilla (luonnollinen avain) toisen tason välimuistin kautta
+ */
+public interface UserNaturalIdLookup {
+
+    /**
+     * Find a user by email address
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.User;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Haku luonnollisella avaimella: sähköposti ratkaistaan ID:ksi users-by-email -alueesta ja
+ * käyttäjä users-alueesta, joten toistuva haku ei aja SQL:ää. Johdettu kysely
+ * (where email = ?) ohittaisi välimuistin.
+ */
+class UserNaturalIdLookupImpl implements UserNaturalIdLookup {
+
+    private final EntityManager entityManager;
+
+    UserNaturalIdLookupImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Käyttäjän listaussarakkeet ilman salasanatiivistettä
+ */
+public interface UserProjection {
+
+    Long getId();
+
+    String getEmail();
+
+    String getDisplayName();
+
+    LocalDateTime getCreatedAt();
+}
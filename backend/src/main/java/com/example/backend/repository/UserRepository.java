@@ -1,16 +1,62 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.User;
-import java.util.Optional;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdLookup {
+
+    /**
+     * Haetaan käyttäjäsivu ID-järjestyksessä kursorin (afterId) jälkeen: pääavaimen väli
+     * id > afterId, joten sivu maksaa saman kursorin sijainnista riippumatta.
+     */
+    @Query("select u.id as id, u.email as email, u.displayName as displayName, u.createdAt as createdAt "
+            + "from User u where u.id > :afterId order by u.id")
+    List<UserProjection> findPageAfter(@Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Sähköpostin alkuosalla suodatettu käyttäjäsivu ID-järjestyksessä kursorin jälkeen.
+     * Kaava on etuliite (esim. "matti%"), joten haku rajataan sähköposti-indeksin väliin
+     * (PostgreSQL: idx_users_email_pattern, V7) ja vain osumat järjestetään.
+     */
+    @Query("select u.id as id, u.email as email, u.displayName as displayName, u.createdAt as createdAt "
+            + "from User u where u.email like :emailPattern escape '\\' and u.id > :afterId "
+            + "order by u.id")
+    List<UserProjection> findPageByEmailAfter(
+            @Param("afterId") long afterId,
+            @Param("emailPattern") String emailPattern,
+            Pageable page);
+
+    /**
+     * Kaikki käyttäjät virtana pääavaimen järjestyksessä. Rivit haetaan tietokannasta
+     * erissä, joten kutsujan täytyy kuluttaa virta transaktion sisällä.
+     */
+    @Query("select u.id as id, u.email as email, u.displayName as displayName, u.createdAt as createdAt "
+            + "from User u order by u.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserProjection> streamAll();
+
     /**
-     * Find a user by email address
+     * Sähköpostin alkuosalla suodatetut käyttäjät virtana ID-järjestyksessä (ks. findPageByEmailAfter)
      */
-    Optional<User> findByEmail(String email);
+    @Query("select u.id as id, u.email as email, u.displayName as displayName, u.createdAt as createdAt "
+            + "from User u where u.email like :emailPattern escape '\\' order by u.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserProjection> streamByEmail(@Param("emailPattern") String emailPattern);
     
     /**
      * Check if user exists by email
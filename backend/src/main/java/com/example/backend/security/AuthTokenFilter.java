@@ -20,16 +20,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Autowired
-    private JwtUtils jwtUtils;
+    private VerifiedTokenCache tokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
+            // Yksi allekirjoituksen tarkistus tokenia kohden, toistuvat pyynnöt välimuistista
+            String username = jwt != null ? tokenCache.resolveUsername(jwt) : null;
+            if (username != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(username,
                         null, null);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -58,32 +58,18 @@ public class JwtUtils {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            logger.error("Error validating token: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = getJwtParser()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getExpiration();
-            return expiration.before(new Date());
-        } catch (Exception e) {
-            logger.debug("Token expiration check failed: {}", e.getMessage());
-            return true;
-        }
+        Claims claims = verifyToken(token);
+        return claims != null && userDetails.getUsername().equals(claims.getSubject());
     }
 
-    public boolean validateJwtToken(String token) {
+    /**
+     * Tarkistaa allekirjoituksen ja voimassaolon yhdellä jäsennyksellä
+     *
+     * @return tokenin claimit tai null, jos token ei kelpaa
+     */
+    public Claims verifyToken(String token) {
         try {
-            getJwtParser().parseSignedClaims(token);
-            return true;
+            return getJwtParser().parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -93,20 +79,15 @@ public class JwtUtils {
         } catch (JwtException | IllegalArgumentException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateJwtToken(String token) {
+        return verifyToken(token) != null;
     }
 
     public String getUserNameFromJwtToken(String token) {
-        try {
-            return getJwtParser()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
-        } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
-        } catch (JwtException e) {
-            logger.error("JWT token is invalid: {}", e.getMessage());
-        }
-        return null;
+        Claims claims = verifyToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package com.example.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Pyyntörajoitus ennen kuin pyyntö pääsee kontrollereille ja tietokantayhteyspooliin.
+ *
+ * Ajetaan AuthTokenFilterin jälkeen, joten tunnistettu käyttäjä saa oman ämpärinsä;
+ * tunnistamattomat pyynnöt rajataan IP-osoitteen mukaan. Jokaisella reittiryhmällä
+ * (auth, write, read) on oma budjettinsa. Ylitys palauttaa 429:n ja Retry-After-otsakkeen.
+ *
+ * Mittari: http.rate.limit.rejected (route).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final boolean enabled;
+    private final List<Route> routes;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public RateLimitFilter(ObjectMapper objectMapper, MeterRegistry registry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${app.rate-limit.auth.capacity:10}") int authCapacity,
+            @Value("${app.rate-limit.auth.per-second:0.5}") double authPerSecond,
+            @Value("${app.rate-limit.write.capacity:20}") int writeCapacity,
+            @Value("${app.rate-limit.write.per-second:5}") double writePerSecond,
+            @Value("${app.rate-limit.read.capacity:50}") int readCapacity,
+            @Value("${app.rate-limit.read.per-second:20}") double readPerSecond) {
+        this(objectMapper, registry, enabled, List.of(
+                new Route("auth", null, "/api/auth/**",
+                        new TokenBucketRateLimiter(authCapacity, authPerSecond, maxKeys)),
+                new Route("write", WRITE_METHODS, "/api/**",
+                        new TokenBucketRateLimiter(writeCapacity, writePerSecond, maxKeys)),
+                new Route("read", Set.of("GET", "HEAD"), "/api/**",
+                        new TokenBucketRateLimiter(readCapacity, readPerSecond, maxKeys))));
+    }
+
+    RateLimitFilter(ObjectMapper objectMapper, MeterRegistry registry, boolean enabled, List<Route> routes) {
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.routes = routes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = match(request);
+        if (route != null) {
+            long waitNanos = route.limiter.tryAcquire(clientKey(request));
+            if (waitNanos > 0) {
+                reject(route, waitNanos, response);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if ((route.methods == null || route.methods.contains(request.getMethod()))
+                    && PATHS.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tunnistettu käyttäjä tai asiakkaan IP (välityspalvelimen takana server.forward-headers-strategy)
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(Route route, long waitNanos, HttpServletResponse response) throws IOException {
+        Counter.builder("http.rate.limit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .tag("route", route.name)
+                .register(registry)
+                .increment();
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Liikaa pyyntöjä");
+        body.put("message", "Pyyntöraja ylittyi. Yritä uudelleen " + retryAfter + " sekunnin kuluttua.");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    static final class Route {
+        private final String name;
+        private final Set<String> methods;
+        private final String pattern;
+        private final TokenBucketRateLimiter limiter;
+
+        Route(String name, Set<String> methods, String pattern, TokenBucketRateLimiter limiter) {
+            this.name = name;
+            this.methods = methods;
+            this.pattern = pattern;
+            this.limiter = limiter;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lukoton token bucket -rajoitin avainta (käyttäjä tai IP) kohden.
+ *
+ * Ämpärin tila on yksi AtomicLong: hetki, jolloin ämpäri olisi taas täynnä (GCRA-muotoilu).
+ * Jokainen pyyntö siirtää hetkeä yhden tokenin välin eteenpäin compare-and-setillä, ja pyyntö
+ * hylätään, jos hetki karkaisi yli kapasiteetin verran tulevaisuuteen. Täysi ämpäri ei eroa
+ * puuttuvasta, joten avainkartasta voidaan poistaa joutilaat ämpärit käytöstä välittämättä.
+ * Kartan koko on rajattu: täyttyessä poistetaan ensin joutilaat ja tarvittaessa mielivaltaisia
+ * ämpäreitä (enintään neljännes kerralla).
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity        pyyntöjä purskeena (ämpärin koko)
+     * @param refillPerSecond tokeneita sekunnissa
+     * @param maxKeys         ämpäreitä enintään muistissa
+     */
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        this(capacity, refillPerSecond, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, double refillPerSecond, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.toleranceNanos = intervalNanos * capacity;
+        this.maxKeys = Math.max(1, maxKeys);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Yrittää ottaa tokenin avaimen ämpäristä.
+     *
+     * @return 0, jos pyyntö sallitaan, muuten odotusaika nanosekunteina seuraavaan tokeniin
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        int target = maxKeys - Math.max(1, maxKeys / 4);
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (buckets.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
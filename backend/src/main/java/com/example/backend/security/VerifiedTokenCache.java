@@ -0,0 +1,127 @@
+package com.example.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Välimuisti jo tarkistetuille JWT-tokeneille. Sama bearer-token tarkistetaan
+ * (HMAC ja JSON-jäsennys) vain kerran; seuraavat pyynnöt haetaan tokenin SHA-256-tiivisteellä
+ * tokenin exp-aikaan asti. Itse tokenia ei säilytetä muistissa.
+ *
+ * Mittarit: auth.token.cache (result=hit|miss), auth.token.cache.size ja
+ * auth.jwt.verify (välimuistin ohi menevän tarkistuksen kesto).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtils jwtUtils;
+    private final Clock clock;
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verify;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtils jwtUtils, MeterRegistry registry,
+            @Value("${app.security.token-cache.max-size:10000}") int maxSize) {
+        this(jwtUtils, registry, maxSize, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(JwtUtils jwtUtils, MeterRegistry registry, int maxSize, Clock clock) {
+        this.jwtUtils = jwtUtils;
+        this.clock = clock;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("auth.token.cache").tag("result", "hit")
+                .description("Verified JWT cache lookups").register(registry);
+        this.misses = Counter.builder("auth.token.cache").tag("result", "miss")
+                .description("Verified JWT cache lookups").register(registry);
+        this.verify = Timer.builder("auth.jwt.verify")
+                .description("JWT signature and claims verification")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("auth.token.cache.size", entries, Map::size)
+                .description("Verified JWT cache entries").register(registry);
+    }
+
+    /**
+     * Palauttaa tokenin käyttäjänimen tai null, jos token ei kelpaa
+     */
+    public String resolveUsername(String token) {
+        String key = hash(token);
+        long now = clock.millis();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > now) {
+                hits.increment();
+                return entry.username;
+            }
+            entries.remove(key, entry);
+        }
+
+        misses.increment();
+        Claims claims = verify.record(() -> jwtUtils.verifyToken(token));
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+        // Ilman exp-aikaa olevaa tokenia ei välimuisteta
+        if (claims.getExpiration() != null) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(key, new Entry(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+        return claims.getSubject();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Poistaa vanhentuneet merkinnät ja tarvittaessa mielivaltaisia merkintöjä,
+     * kunnes välimuistiin mahtuu taas (enintään neljännes kerralla)
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int target = maxSize - Math.max(1, maxSize / 4);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String username;
+        private final long expiresAt;
+
+        private Entry(String username, long expiresAt) {
+            this.username = username;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
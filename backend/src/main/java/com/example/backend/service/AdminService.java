@@ -7,34 +7,104 @@ import com.example.backend.dto.response.UserResponse;
 import com.example.backend.exception.ReservationException;
 import com.example.backend.model.Room;
 import com.example.backend.model.User;
+import com.example.backend.dto.response.UserPage;
 import com.example.backend.repository.RoomRepository;
+import com.example.backend.repository.UserProjection;
 import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AdminService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Ajastin tageilla operation (users.list, users.update, users.delete, rooms.create, ...) ja outcome
+    static final String OPERATION_TIMER = "admin.operation";
+
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
+    private final RoomCatalogCache roomCatalog;
+    private final ObjectMapper objectMapper;
+    private final ServiceMetrics metrics;
 
-    public AdminService(UserRepository userRepository, RoomRepository roomRepository) {
+    public AdminService(UserRepository userRepository, RoomRepository roomRepository,
+            RoomCatalogCache roomCatalog, ObjectMapper objectMapper, ServiceMetrics metrics) {
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
+        this.roomCatalog = roomCatalog;
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.metrics = metrics;
     }
 
     // ============ USER MANAGEMENT ============
 
     /**
-     * Haetaan kaikki käyttäjät
+     * Haetaan käyttäjät sivu kerrallaan ID-järjestyksessä. Vain listauksen sarakkeet
+     * haetaan (ei salasanatiivistettä), ja sivu jatkuu edellisen sivun viimeisestä ID:stä.
+     *
+     * @param cursor      edellisen sivun nextCursor tai null ensimmäiselle sivulle
+     * @param emailPrefix sähköpostin alku tai null
+     * @param limit       sivun koko, rajataan välille 1..MAX_PAGE_SIZE
+     */
+    @Transactional(readOnly = true)
+    public UserPage getUsers(String cursor, String emailPrefix, int limit) {
+        return metrics.record(OPERATION_TIMER, "users.list", () -> listUsers(cursor, emailPrefix, limit));
+    }
+
+    private UserPage listUsers(String cursor, String emailPrefix, int limit) {
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new ReservationException("Virheellinen sivukursori.");
+            }
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        String emailPattern = toLikePattern(emailPrefix);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<UserProjection> rows = emailPattern == null
+                ? userRepository.findPageAfter(afterId, page)
+                : userRepository.findPageByEmailAfter(afterId, emailPattern, page);
+        boolean hasMore = rows.size() > pageSize;
+        List<UserResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(AdminService::toUserResponse)
+                .toList();
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).getId()) : null;
+        return new UserPage(items, nextCursor);
+    }
+
+    /**
+     * Kirjoittaa kaikki (suodatetut) käyttäjät NDJSON-muodossa, rivi kerrallaan.
+     * Rivit luetaan tietokannasta virtana, joten koko käyttäjäjoukkoa ei pidetä muistissa.
      */
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(this::toUserResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void exportUsers(String emailPrefix, OutputStream out) throws IOException {
+        String emailPattern = toLikePattern(emailPrefix);
+        try (Stream<UserProjection> users = emailPattern == null
+                ? userRepository.streamAll()
+                : userRepository.streamByEmail(emailPattern)) {
+            Iterator<UserProjection> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                objectMapper.writeValue(out, toUserResponse(iterator.next()));
+                out.write('\n');
+            }
+        }
+        out.flush();
     }
 
     /**
@@ -50,6 +120,10 @@ public class AdminService {
      * Päivitetään käyttäjän tietoja
      */
     public UserResponse updateUser(Long id, UserRequest request) {
+        return metrics.record(OPERATION_TIMER, "users.update", () -> doUpdateUser(id, request));
+    }
+
+    private UserResponse doUpdateUser(Long id, UserRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ReservationException("Käyttäjää ei löydy ID:llä: " + id));
 
@@ -72,6 +146,10 @@ public class AdminService {
      * Poistetaan käyttäjä
      */
     public void deleteUser(Long id) {
+        metrics.record(OPERATION_TIMER, "users.delete", () -> doDeleteUser(id));
+    }
+
+    private void doDeleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new ReservationException("Käyttäjää ei löydy ID:llä: " + id);
         }
@@ -97,25 +175,21 @@ public class AdminService {
     // ============ ROOM MANAGEMENT ============
 
     /**
-     * Haetaan kaikki huoneet
+     * Haetaan kaikki aktiiviset huoneet (välimuistista)
      */
     public List<RoomResponse> getAllRooms() {
-        return roomRepository.findAll()
-                .stream()
-                .filter(Room::getIsActive)
-                .map(this::toRoomResponse)
-                .collect(Collectors.toList());
+        return roomCatalog.getActiveRooms();
     }
 
     /**
      * Luodaan uusi huone
      */
     public RoomResponse createRoom(RoomRequest request) {
-        String roomId = "room-" + UUID.randomUUID().toString().substring(0, 8);
+        return metrics.record(OPERATION_TIMER, "rooms.create", () -> doCreateRoom(request));
+    }
 
-        if (roomRepository.existsById(roomId)) {
-            throw new ReservationException("Huone ID on jo olemassa");
-        }
+    private RoomResponse doCreateRoom(RoomRequest request) {
+        String roomId = "room-" + UUID.randomUUID().toString().substring(0, 8);
 
         Room room = new Room();
         room.setId(roomId);
@@ -125,7 +199,14 @@ public class AdminService {
         room.setLocation(request.getLocation());
         room.setIsActive(true);
 
-        Room saved = roomRepository.save(room);
+        // Uusi huone tallennetaan persistillä: ID-törmäys kaatuu pääavaimeen eikä ylikirjoita huonetta
+        Room saved;
+        try {
+            saved = roomRepository.save(room);
+        } catch (DataIntegrityViolationException e) {
+            throw new ReservationException("Huone ID on jo olemassa");
+        }
+        roomCatalog.invalidate();
         return toRoomResponse(saved);
     }
 
@@ -133,6 +214,10 @@ public class AdminService {
      * Päivitetään huoneen tietoja
      */
     public RoomResponse updateRoom(String roomId, RoomRequest request) {
+        return metrics.record(OPERATION_TIMER, "rooms.update", () -> doUpdateRoom(roomId, request));
+    }
+
+    private RoomResponse doUpdateRoom(String roomId, RoomRequest request) {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ReservationException("Huonetta ei löydy ID:llä: " + roomId));
 
@@ -153,6 +238,7 @@ public class AdminService {
         }
 
         Room updated = roomRepository.save(room);
+        roomCatalog.invalidate();
         return toRoomResponse(updated);
     }
 
@@ -160,11 +246,16 @@ public class AdminService {
      * Poistetaan huone
      */
     public void deleteRoom(String roomId) {
+        metrics.record(OPERATION_TIMER, "rooms.delete", () -> doDeleteRoom(roomId));
+    }
+
+    private void doDeleteRoom(String roomId) {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new ReservationException("Huonetta ei löydy ID:llä: " + roomId));
 
         room.setIsActive(false);
         roomRepository.save(room);
+        roomCatalog.invalidate();
     }
 
     /**
@@ -176,6 +267,7 @@ public class AdminService {
 
         room.setName(newName);
         Room updated = roomRepository.save(room);
+        roomCatalog.invalidate();
         return toRoomResponse(updated);
     }
 
@@ -192,11 +284,33 @@ public class AdminService {
 
         room.setCapacity(newCapacity);
         Room updated = roomRepository.save(room);
+        roomCatalog.invalidate();
         return toRoomResponse(updated);
     }
 
     // ============ HELPER METHODS ============
 
+    /**
+     * Sähköpostin alusta LIKE-kaava, jossa käyttäjän syöttämät jokerimerkit on suojattu
+     */
+    private static String toLikePattern(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    private static UserResponse toUserResponse(UserProjection user) {
+        return new UserResponse(
+                user.getId(),
+                user.getEmail(),
+                user.getDisplayName(),
+                user.getCreatedAt());
+    }
+
     private UserResponse toUserResponse(User user) {
         return new UserResponse(
                 user.getId(),
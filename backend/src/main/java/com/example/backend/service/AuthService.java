@@ -4,28 +4,46 @@ import com.example.backend.dto.request.LoginRequest;
 import com.example.backend.dto.request.RegisterRequest;
 import com.example.backend.dto.response.AuthResponse;
 import com.example.backend.exception.ReservationException;
+import com.example.backend.exception.ServiceBusyException;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.JwtUtils;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.backend.security.PasswordHasher;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
+    // Ajastimet: auth.operation (operation=register|login, outcome) ja auth.password.verify (bcrypt)
+    static final String OPERATION_TIMER = "auth.operation";
+    static final String PASSWORD_VERIFY_TIMER = "auth.password.verify";
+
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     private final JwtUtils jwtUtils;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtils jwtUtils) {
+    private final ServiceMetrics metrics;
+
+    public AuthService(UserRepository userRepository, PasswordHasher passwordHasher, JwtUtils jwtUtils,
+            ServiceMetrics metrics) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtils = jwtUtils;
+        this.metrics = metrics;
     }
 
     public AuthResponse register(RegisterRequest request) {
+        return metrics.record(OPERATION_TIMER, "register", () -> doRegister(request));
+    }
+
+    public AuthResponse login(LoginRequest request) {
+        return metrics.record(OPERATION_TIMER, "login", () -> doLogin(request));
+    }
+
+    private AuthResponse doRegister(RegisterRequest request) {
         // Check if user already exists
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new ReservationException("Käyttäjä tälle sähköpostille on jo olemassa");
@@ -34,7 +52,7 @@ public class AuthService {
         // Create new user
         User user = new User(
                 request.getEmail(),
-                passwordEncoder.encode(request.getPassword()),
+                passwordHasher.encode(request.getPassword()),
                 request.getDisplayName());
 
         User savedUser = userRepository.save(user);
@@ -45,19 +63,46 @@ public class AuthService {
         return new AuthResponse(token, savedUser.getId(), savedUser.getEmail(), savedUser.getDisplayName());
     }
 
-    public AuthResponse login(LoginRequest request) {
+    private AuthResponse doLogin(LoginRequest request) {
         // Find user by email
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ReservationException("Käyttäjää ei löydy"));
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!verifyPassword(request.getPassword(), user.getPassword())) {
             throw new ReservationException("Väärä salasana");
         }
+        rehashIfCostChanged(user, request.getPassword());
 
         // Generate JWT token
         String token = jwtUtils.generateToken(user.getEmail());
 
         return new AuthResponse(token, user.getId(), user.getEmail(), user.getDisplayName());
     }
-}
\ No newline at end of file
+
+    /**
+     * bcrypt-tarkistus omalla ajastimellaan (outcome=match|mismatch), jonotus mukaan lukien
+     */
+    private boolean verifyPassword(String rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start();
+        boolean matches = passwordHasher.matches(rawPassword, encodedPassword);
+        sample.stop(metrics.timer(PASSWORD_VERIFY_TIMER, "bcrypt", matches ? "match" : "mismatch"));
+        return matches;
+    }
+
+    /**
+     * Tiivistetään salasana uudelleen, jos bcrypt-kustannus on muuttunut. Ruuhkassa
+     * päivitys jätetään seuraavaan kirjautumiseen, eikä kirjautuminen epäonnistu sen takia.
+     */
+    private void rehashIfCostChanged(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordHasher.encode(rawPassword));
+            userRepository.save(user);
+        } catch (ServiceBusyException e) {
+            // Yritetään uudelleen seuraavalla kirjautumisella
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.exception.InvalidReservationTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.stereotype.Service;
+
+/**
+ * Vapaiden huoneiden haku muistista: aktiivisten huoneiden luettelo (RoomCatalogCache)
+ * ja huonekohtaiset tarkistukset varausindeksistä ilman tietokantakyselyä
+ */
+@Service
+public class AvailabilityService {
+
+    // Vapaiden aikavälien haun pisin sallittu aikaikkuna
+    public static final Duration MAX_SLOT_WINDOW = Duration.ofDays(31);
+
+    private static final Comparator<RoomResponse> BY_CAPACITY_AND_NAME =
+            Comparator.comparing(RoomResponse::getCapacity).thenComparing(RoomResponse::getName);
+
+    private final RoomCatalogCache catalog;
+
+    private final ReservationIndex index;
+
+    private final OccupancyCalendar calendar;
+
+    public AvailabilityService(RoomCatalogCache catalog, ReservationIndex index, OccupancyCalendar calendar) {
+        this.catalog = catalog;
+        this.index = index;
+        this.calendar = calendar;
+    }
+
+    /**
+     * Haetaan huoneet, jotka ovat vapaina koko aikavälin [from, to).
+     * Jokainen ehdokas maksaa kaksi indeksikyselyä (O(log n) varauksille ja sarjojen
+     * läpikäynti), joten vasteaika ei riipu tietokannan kuormasta. Tietokantaan mennään
+     * vain, kun huoneluettelo on mitätöity; sen latauksella on aikaraja varmuuden vuoksi.
+     *
+     * @param location sijainti (kirjainkoolla ei väliä) tai null
+     */
+    public List<RoomResponse> findAvailableRooms(LocalDateTime from, LocalDateTime to, int minCapacity,
+            String location) {
+        if (!from.isBefore(to)) {
+            throw new InvalidReservationTimeException("Aikaikkunan alun täytyy olla ennen loppua.");
+        }
+        String normalizedLocation = location == null || location.isBlank()
+                ? null
+                : location.trim().toLowerCase(Locale.ROOT);
+
+        return catalog.getActiveRooms().stream()
+                .filter(room -> room.getCapacity() >= minCapacity)
+                .filter(room -> normalizedLocation == null || (room.getLocation() != null
+                        && room.getLocation().toLowerCase(Locale.ROOT).equals(normalizedLocation)))
+                .filter(room -> !index.hasReservationOverlap(room.getId(), from, to))
+                .filter(room -> !index.hasSeriesOverlap(room.getId(), from, to))
+                .sorted(BY_CAPACITY_AND_NAME)
+                .toList();
+    }
+
+    /**
+     * Haetaan huoneen vapaat aikavälit (päivä- ja viikkonäkymät) varauskalenterista.
+     * Palauttaa vapaiden aikavälien alkamisajat; välin pituus on getSlotMinutes().
+     */
+    public List<LocalDateTime> findFreeSlots(String roomId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidReservationTimeException("Aikaikkunan alun täytyy olla ennen loppua.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_SLOT_WINDOW) > 0) {
+            throw new InvalidReservationTimeException(
+                    "Aikaikkuna voi olla enintään " + MAX_SLOT_WINDOW.toDays() + " päivää.");
+        }
+        int slotMinutes = calendar.getSlotMinutes();
+        return calendar.freeSlots(roomId, from, to).stream()
+                .filter(slot -> !index.hasSeriesOverlap(roomId, slot, slot.plusMinutes(slotMinutes)))
+                .toList();
+    }
+
+    public int getSlotMinutes() {
+        return calendar.getSlotMinutes();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.service;
+
+/**
+ * Missä varausten päällekkäisyys tarkistetaan
+ */
+public enum ConflictMode {
+    /**
+     * Sovellus tarkistaa päällekkäisyydet muistinvaraisesta indeksistä ennen tallennusta
+     */
+    APPLICATION,
+
+    /**
+     * Tietokanta estää päällekkäisyydet (PostgreSQL: tsrange + GiST exclusion constraint),
+     * sovellus tallentaa suoraan ja kääntää rajoiterikkeen RoomAlreadyBookedException-poikkeukseksi
+     */
+    DATABASE;
+
+    /**
+     * Päällekkäisyysrajoitteen nimi (Flyway V6; rajoite on olemassa kummassakin tilassa)
+     */
+    public static final String CONSTRAINT_NAME = "reservations_no_overlap";
+
+    /**
+     * PostgreSQL:n exclusion_violation
+     */
+    public static final String EXCLUSION_VIOLATION_STATE = "23P01";
+}
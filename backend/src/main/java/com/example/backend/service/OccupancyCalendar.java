@@ -0,0 +1,275 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.ReservationSlot;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Huonekohtainen varauskalenteri bittikarttana: jokaisella huoneella on päiväkohtainen
+ * long[], jossa bitti n kertoo, onko päivän n:s aikaväli (oletuksena 15 min) varattu.
+ *
+ * Kalenteri päivitetään ReservationChangedEvent-tapahtumista, ja vapaat aikavälit
+ * lasketaan bittioperaatioilla ilman Reservation-olioita. Vain varattuja päiviä säilytetään.
+ * Toistuvat sarjat eivät ole kalenterissa, koska niiden esiintymiä ei tallenneta.
+ */
+@Component
+public class OccupancyCalendar {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Arvioidut JVM-yleiskustannukset muistinkäytön raportointiin
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long DAY_ENTRY_BYTES = 48;
+    private static final long ROOM_ENTRY_BYTES = 96;
+
+    private final ReservationIndex index;
+    private final int slotMinutes;
+    private final long slotNanos;
+    private final int slotsPerDay;
+    private final int wordsPerDay;
+    private final Map<String, Map<Long, long[]>> rooms = new ConcurrentHashMap<>();
+
+    public OccupancyCalendar(ReservationIndex index, @Value("${app.reservation.slot-minutes:15}") int slotMinutes) {
+        if (slotMinutes < 1 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot length must divide a day evenly: " + slotMinutes);
+        }
+        this.index = index;
+        this.slotMinutes = slotMinutes;
+        this.slotNanos = slotMinutes * NANOS_PER_MINUTE;
+        this.slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+        this.wordsPerDay = (slotsPerDay + 63) / 64;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.getPreviousRoomId() != null) {
+            release(event.getPreviousRoomId(), event.getPreviousStartTime(), event.getPreviousEndTime());
+        }
+        if (event.getRoomId() != null) {
+            occupy(event.getRoomId(), event.getStartTime(), event.getEndTime());
+        }
+    }
+
+    /**
+     * Rakentaa kalenterin uudelleen annetuista varauksista
+     */
+    public void rebuild(Collection<? extends ReservationSlot> slots) {
+        rooms.clear();
+        for (ReservationSlot slot : slots) {
+            occupy(slot.getRoomId(), slot.getStartTime(), slot.getEndTime());
+        }
+    }
+
+    /**
+     * Merkitsee aikavälin [start, end) kattavat aikavälit varatuiksi
+     */
+    public void occupy(String roomId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            return;
+        }
+        Map<Long, long[]> days = rooms.computeIfAbsent(roomId, key -> new HashMap<>());
+        synchronized (days) {
+            forEachDay(start, end, (day, from, to) -> {
+                long[] words = days.computeIfAbsent(day.toEpochDay(), key -> new long[wordsPerDay]);
+                apply(words, from, to, true);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Vapauttaa aikavälin. Reunimmaiset aikavälit voivat olla jaettuja viereisen varauksen
+     * kanssa, joten ne merkitään uudelleen, jos indeksissä on yhä niitä leikkaava varaus.
+     */
+    public void release(String roomId, LocalDateTime start, LocalDateTime end) {
+        Map<Long, long[]> days = rooms.get(roomId);
+        if (days == null || !end.isAfter(start)) {
+            return;
+        }
+        synchronized (days) {
+            forEachDay(start, end, (day, from, to) -> {
+                long[] words = days.get(day.toEpochDay());
+                if (words != null) {
+                    apply(words, from, to, false);
+                    if (isEmpty(words)) {
+                        days.remove(day.toEpochDay());
+                    }
+                }
+                return true;
+            });
+        }
+
+        LocalDateTime firstSlot = slotStart(start);
+        LocalDateTime lastSlot = slotStart(end.minusNanos(1));
+        for (LocalDateTime slot : firstSlot.equals(lastSlot) ? List.of(firstSlot) : List.of(firstSlot, lastSlot)) {
+            LocalDateTime slotEnd = slot.plusMinutes(slotMinutes);
+            if (index.hasReservationOverlap(roomId, slot, slotEnd)) {
+                occupy(roomId, slot, slotEnd);
+            }
+        }
+    }
+
+    /**
+     * Onko koko aikaväli [start, end) vapaa
+     */
+    public boolean isFree(String roomId, LocalDateTime start, LocalDateTime end) {
+        Map<Long, long[]> days = rooms.get(roomId);
+        if (days == null || !end.isAfter(start)) {
+            return true;
+        }
+        synchronized (days) {
+            return forEachDay(start, end, (day, from, to) -> {
+                long[] words = days.get(day.toEpochDay());
+                return words == null || !intersects(words, from, to);
+            });
+        }
+    }
+
+    /**
+     * Onko hetken sisältävä aikaväli vapaa
+     */
+    public boolean isSlotFree(String roomId, LocalDateTime time) {
+        LocalDateTime slot = slotStart(time);
+        return isFree(roomId, slot, slot.plusMinutes(slotMinutes));
+    }
+
+    /**
+     * Vapaiden aikavälien alkamisajat, jotka leikkaavat aikaväliä [from, to)
+     */
+    public List<LocalDateTime> freeSlots(String roomId, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> free = new ArrayList<>();
+        if (!to.isAfter(from)) {
+            return free;
+        }
+        Map<Long, long[]> days = rooms.getOrDefault(roomId, new HashMap<>());
+        synchronized (days) {
+            forEachDay(from, to, (day, fromSlot, toSlot) -> {
+                long[] words = days.get(day.toEpochDay());
+                LocalDateTime midnight = day.atStartOfDay();
+                for (int w = fromSlot >>> 6; w <= (toSlot - 1) >>> 6; w++) {
+                    long bits = ~(words == null ? 0L : words[w]) & mask(w, fromSlot, toSlot);
+                    while (bits != 0) {
+                        int slot = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        free.add(midnight.plusMinutes((long) slot * slotMinutes));
+                        bits &= bits - 1;
+                    }
+                }
+                return true;
+            });
+        }
+        return free;
+    }
+
+    /**
+     * Kalenterin arvioitu muistinkäyttö tavuina
+     */
+    public long memoryFootprintBytes() {
+        long bytes = 0;
+        for (Map<Long, long[]> days : rooms.values()) {
+            synchronized (days) {
+                bytes += ROOM_ENTRY_BYTES + days.size() * (DAY_ENTRY_BYTES + ARRAY_HEADER_BYTES + 8L * wordsPerDay);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Päivien määrä, joilla on vähintään yksi varattu aikaväli
+     */
+    public int dayCount() {
+        int count = 0;
+        for (Map<Long, long[]> days : rooms.values()) {
+            synchronized (days) {
+                count += days.size();
+            }
+        }
+        return count;
+    }
+
+    private LocalDateTime slotStart(LocalDateTime time) {
+        LocalDateTime midnight = time.truncatedTo(ChronoUnit.DAYS);
+        return midnight.plusMinutes((long) slotOf(time) * slotMinutes);
+    }
+
+    private int slotOf(LocalDateTime time) {
+        return (int) (time.toLocalTime().toNanoOfDay() / slotNanos);
+    }
+
+    private int slotCeil(LocalDateTime time) {
+        return (int) ((time.toLocalTime().toNanoOfDay() + slotNanos - 1) / slotNanos);
+    }
+
+    /**
+     * Käy läpi aikavälin [start, end) päivät ja kunkin päivän aikavälit [from, to).
+     * Lopettaa, kun käsittelijä palauttaa false.
+     */
+    private boolean forEachDay(LocalDateTime start, LocalDateTime end, DayRange action) {
+        LocalDate lastDay = end.minusNanos(1).toLocalDate();
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            int from = day.equals(start.toLocalDate()) ? slotOf(start) : 0;
+            int to = day.equals(end.toLocalDate()) ? slotCeil(end) : slotsPerDay;
+            if (from < to && !action.accept(day, from, to)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void apply(long[] words, int from, int to, boolean occupied) {
+        for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+            if (occupied) {
+                words[w] |= mask(w, from, to);
+            } else {
+                words[w] &= ~mask(w, from, to);
+            }
+        }
+    }
+
+    private static boolean intersects(long[] words, int from, int to) {
+        for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+            if ((words[w] & mask(w, from, to)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sanan w bitit, jotka osuvat välille [from, to)
+     */
+    private static long mask(int w, int from, int to) {
+        int low = Math.max(from - (w << 6), 0);
+        int high = Math.min(to - (w << 6), 64);
+        long upper = high == 64 ? -1L : (1L << high) - 1;
+        return upper & (-1L << low);
+    }
+
+    @FunctionalInterface
+    private interface DayRange {
+        boolean accept(LocalDate day, int from, int to);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.model.ReservationSeries;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Toistuvan varauksen sääntö muuttumattomana arvona.
+ *
+ * Esiintymä n alkaa hetkellä start + n * interval (päivää, viikkoa tai kuukautta), joten
+ * aikaikkunan ensimmäinen esiintymä lasketaan suoraan eikä sarjaa tarvitse käydä läpi alusta.
+ * Esiintymät tuotetaan laiskasti vain kysytylle ikkunalle.
+ */
+public final class Recurrence {
+
+    private final String seriesId;
+    private final LocalDateTime firstStart;
+    private final Duration duration;
+    private final ChronoUnit unit;
+    private final int interval;
+    private final long lastIndex;
+
+    private Recurrence(String seriesId, LocalDateTime firstStart, Duration duration, ChronoUnit unit,
+            int interval, long lastIndex) {
+        this.seriesId = seriesId;
+        this.firstStart = firstStart;
+        this.duration = duration;
+        this.unit = unit;
+        this.interval = interval;
+        this.lastIndex = lastIndex;
+    }
+
+    /**
+     * Muodostaa säännön sarjasta ja validoi sen
+     *
+     * @throws InvalidReservationTimeException jos sääntö on virheellinen
+     */
+    public static Recurrence of(ReservationSeries series) {
+        if (!series.getEndTime().isAfter(series.getStartTime())) {
+            throw new InvalidReservationTimeException("Päättymisaika ei voi olla alkamisaikaa ennen.");
+        }
+        if (series.getIntervalCount() < 1) {
+            throw new InvalidReservationTimeException("Toistovälin täytyy olla vähintään 1.");
+        }
+        if ((series.getUntil() == null) == (series.getOccurrenceCount() == null)) {
+            throw new InvalidReservationTimeException("Anna toistuvalle varaukselle joko päättymispäivä tai määrä.");
+        }
+
+        ChronoUnit unit = switch (series.getFrequency()) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+        };
+        Duration duration = Duration.between(series.getStartTime(), series.getEndTime());
+        Recurrence probe = new Recurrence(series.getId(), series.getStartTime(), duration, unit,
+                series.getIntervalCount(), 0);
+
+        long lastIndex;
+        if (series.getOccurrenceCount() != null) {
+            if (series.getOccurrenceCount() < 1) {
+                throw new InvalidReservationTimeException("Esiintymiä täytyy olla vähintään yksi.");
+            }
+            lastIndex = series.getOccurrenceCount() - 1L;
+        } else {
+            if (series.getUntil().isBefore(series.getStartTime())) {
+                throw new InvalidReservationTimeException("Toiston päättymispäivä ei voi olla ennen alkua.");
+            }
+            lastIndex = unit.between(series.getStartTime(), series.getUntil()) / series.getIntervalCount();
+            // Kuukauden viimeisten päivien pyöristys voi siirtää arviota yhdellä
+            while (lastIndex > 0 && probe.startOf(lastIndex).isAfter(series.getUntil())) {
+                lastIndex--;
+            }
+            while (!probe.startOf(lastIndex + 1).isAfter(series.getUntil())) {
+                lastIndex++;
+            }
+        }
+
+        if (probe.endOf(0).isAfter(probe.startOf(1))) {
+            throw new InvalidReservationTimeException("Varaus ei voi olla pidempi kuin toistoväli.");
+        }
+        return new Recurrence(series.getId(), series.getStartTime(), duration, unit,
+                series.getIntervalCount(), lastIndex);
+    }
+
+    public String getSeriesId() {
+        return seriesId;
+    }
+
+    /**
+     * Esiintymien kokonaismäärä
+     */
+    public long occurrenceCount() {
+        return lastIndex + 1;
+    }
+
+    public LocalDateTime startOf(long n) {
+        return firstStart.plus(n * interval, unit);
+    }
+
+    public LocalDateTime endOf(long n) {
+        return startOf(n).plus(duration);
+    }
+
+    /**
+     * Viimeisen esiintymän loppu
+     */
+    public LocalDateTime lastEnd() {
+        return endOf(lastIndex);
+    }
+
+    /**
+     * Esiintymät, jotka leikkaavat aikaikkunaa [from, to), alkamisajan mukaan järjestettynä
+     */
+    public Stream<Occurrence> occurrences(LocalDateTime from, LocalDateTime to) {
+        // Ensimmäinen mahdollinen esiintymä: sen loppu on from-hetken jälkeen
+        long estimate = unit.between(firstStart, from.minus(duration)) / interval - 1;
+        long first = Math.max(0, estimate);
+        if (first > lastIndex) {
+            return Stream.empty();
+        }
+        return LongStream.rangeClosed(first, lastIndex)
+                .mapToObj(n -> new Occurrence(n, startOf(n), endOf(n)))
+                .takeWhile(occurrence -> occurrence.getStart().isBefore(to))
+                .filter(occurrence -> occurrence.getEnd().isAfter(from));
+    }
+
+    /**
+     * Leikkaako jokin esiintymä aikaväliä [start, end)
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return occurrences(start, end).findAny().isPresent();
+    }
+
+    /**
+     * Yksi laskettu esiintymä
+     */
+    public static final class Occurrence {
+        private final long index;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Occurrence(long index, LocalDateTime start, LocalDateTime end) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Reservation;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Varaus luotiin, päivitettiin tai poistettiin. Julkaistaan huoneen lukon sisällä
+ * tallennuksen jälkeen, joten saman huoneen tapahtumat tulevat kuuntelijoille järjestyksessä.
+ */
+public class ReservationChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final UUID reservationUuid;
+    private final String reservationId;
+    // Varauksen käyttäjä (poistettaessa viimeinen tila)
+    private final String user;
+    // Nykyinen tila (null poistettaessa)
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    // Aiempi tila (null luotaessa)
+    private final String previousRoomId;
+    private final LocalDateTime previousStartTime;
+    private final LocalDateTime previousEndTime;
+
+    private ReservationChangedEvent(Type type, UUID reservationId, String user, String roomId,
+            LocalDateTime startTime, LocalDateTime endTime, String previousRoomId, LocalDateTime previousStartTime,
+            LocalDateTime previousEndTime) {
+        this.type = type;
+        this.reservationUuid = reservationId;
+        this.reservationId = reservationId.toString();
+        this.user = user;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.previousRoomId = previousRoomId;
+        this.previousStartTime = previousStartTime;
+        this.previousEndTime = previousEndTime;
+    }
+
+    public static ReservationChangedEvent created(Reservation reservation) {
+        return new ReservationChangedEvent(Type.CREATED, reservation.getId(), reservation.getUser(),
+                reservation.getRoomId(), reservation.getStartTime(), reservation.getEndTime(), null, null, null);
+    }
+
+    public static ReservationChangedEvent updated(Reservation reservation, String previousRoomId,
+            LocalDateTime previousStartTime, LocalDateTime previousEndTime) {
+        return new ReservationChangedEvent(Type.UPDATED, reservation.getId(), reservation.getUser(),
+                reservation.getRoomId(), reservation.getStartTime(), reservation.getEndTime(),
+                previousRoomId, previousStartTime, previousEndTime);
+    }
+
+    public static ReservationChangedEvent deleted(Reservation reservation) {
+        return new ReservationChangedEvent(Type.DELETED, reservation.getId(), reservation.getUser(),
+                null, null, null, reservation.getRoomId(), reservation.getStartTime(), reservation.getEndTime());
+    }
+
+    public Type getType() { return type; }
+    public String getReservationId() { return reservationId; }
+    public UUID getReservationUuid() { return reservationUuid; }
+    public String getUser() { return user; }
+    public String getRoomId() { return roomId; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public String getPreviousRoomId() { return previousRoomId; }
+    public LocalDateTime getPreviousStartTime() { return previousStartTime; }
+    public LocalDateTime getPreviousEndTime() { return previousEndTime; }
+}
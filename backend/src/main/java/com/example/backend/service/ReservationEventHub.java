@@ -0,0 +1,249 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.ReservationDelta;
+import com.example.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Huoneiden varausmuutosten jakelu Server-Sent Events -tilaajille.
+ *
+ * Yhteys on asynkroninen servlet-pyyntö (SseEmitter), joten joutilas tilaaja ei varaa säiettä.
+ * ReservationChangedEvent julkaistaan huoneen lukon sisällä; tapahtuma vain lisätään tilaajan
+ * rajattuun jonoon, ja pieni jakelusäiejoukko kirjoittaa jonot yhteyksiin. Kun hitaan tilaajan
+ * jono täyttyy, jono korvataan yhdellä resync-tapahtumalla (asiakas hakee listan uudelleen);
+ * jos jono täyttyy uudelleen ennen kuin resync on ehditty lähettää, tilaaja suljetaan.
+ * Heartbeat-kommentti pitää välityspalvelimet auki ja paljastaa katkenneet yhteydet.
+ *
+ * Tapahtumat ovat tämän instanssin kirjoituksia; uudelleen yhdistävä asiakas hakee listan.
+ *
+ * Mittarit: reservation.events.subscribers, reservation.events.coalesced ja reservation.events.dropped.
+ */
+@Component
+public class ReservationEventHub {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final Map<String, Set<Subscriber>> rooms = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    @Autowired
+    public ReservationEventHub(MeterRegistry registry,
+            @Value("${app.reservation.events.buffer-size:64}") int bufferSize,
+            @Value("${app.reservation.events.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.reservation.events.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.reservation.events.dispatch-threads:2}") int dispatchThreads) {
+        this(registry, bufferSize, maxSubscribers, timeoutMillis, dispatcher(dispatchThreads));
+    }
+
+    ReservationEventHub(MeterRegistry registry, int bufferSize, int maxSubscribers, long timeoutMillis,
+            ExecutorService dispatcher) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.dispatcher = dispatcher;
+        this.coalesced = Counter.builder("reservation.events.coalesced")
+                .description("Subscriber buffers replaced by a single resync event").register(registry);
+        this.dropped = Counter.builder("reservation.events.dropped")
+                .description("Subscribers closed because they could not keep up or the write failed")
+                .register(registry);
+        Gauge.builder("reservation.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open reservation event streams").register(registry);
+    }
+
+    /**
+     * Avaa tilauksen huoneen varausmuutoksiin
+     */
+    public SseEmitter subscribe(String roomId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceBusyException("Liian monta avointa tapahtumavirtaa. Yritä hetken päästä uudelleen.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(roomId, emitter, bufferSize);
+        rooms.compute(roomId, (key, subscribers) -> {
+            Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        String roomId = event.getRoomId();
+        String previousRoomId = event.getPreviousRoomId();
+
+        if (roomId != null && Objects.equals(roomId, previousRoomId)) {
+            publish(roomId, new ReservationDelta(ReservationDelta.Type.UPDATED, event.getReservationId(), roomId,
+                    event.getStartTime(), event.getEndTime()));
+            return;
+        }
+        if (previousRoomId != null) {
+            publish(previousRoomId, new ReservationDelta(ReservationDelta.Type.DELETED, event.getReservationId(),
+                    previousRoomId, event.getPreviousStartTime(), event.getPreviousEndTime()));
+        }
+        if (roomId != null) {
+            publish(roomId, new ReservationDelta(ReservationDelta.Type.CREATED, event.getReservationId(), roomId,
+                    event.getStartTime(), event.getEndTime()));
+        }
+    }
+
+    /**
+     * Heartbeat joutilaille tilaajille
+     */
+    @Scheduled(fixedDelayString = "${app.reservation.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : rooms.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.isEmpty()) {
+                    enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        rooms.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private static ExecutorService dispatcher(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "reservation-events-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void publish(String roomId, ReservationDelta delta) {
+        Set<Subscriber> subscribers = rooms.get(roomId);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event()
+                    .name(delta.getType().name().toLowerCase())
+                    .data(delta, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            if (subscriber.resyncPending) {
+                // Tilaaja ei ole ehtinyt lukea edes edellistä resynciä
+                drop(subscriber);
+                return;
+            }
+            subscriber.queue.clear();
+            subscriber.resyncPending = true;
+            coalesced.increment();
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Kirjoittaa tilaajan jonon yhteyteen; vain yksi jakelusäie kerrallaan tilaajaa kohden
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.resyncPending) {
+                subscriber.resyncPending = false;
+                subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(subscriber.roomId));
+            }
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (!subscriber.queue.isEmpty() || subscriber.resyncPending) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            dropped.increment();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        // Tyhjä joukko poistetaan samassa atomisessa päivityksessä kuin subscribe lisää siihen
+        rooms.computeIfPresent(subscriber.roomId, (key, subscribers) -> {
+            removed.set(subscribers.remove(subscriber));
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+        return removed.get();
+    }
+
+    private static final class Subscriber {
+        private final String roomId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean resyncPending;
+
+        private Subscriber(String roomId, SseEmitter emitter, int bufferSize) {
+            this.roomId = roomId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
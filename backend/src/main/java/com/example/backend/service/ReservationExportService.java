@@ -0,0 +1,111 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.repository.ReservationRepository;
+import com.example.backend.repository.ReservationRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Varausten vienti NDJSON-muodossa raportointia varten
+ */
+@Service
+public class ReservationExportService {
+
+    // Rivien välein tyhjennetään puskuri, jotta asiakas saa dataa tasaisesti
+    private static final int FLUSH_EVERY = ReservationRepository.EXPORT_FETCH_SIZE;
+
+    private final ReservationRepository repository;
+
+    private final ObjectWriter writer;
+
+    public ReservationExportService(ReservationRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.writer = objectMapper.copy()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writerFor(ReservationResponse.class)
+                .withRootValueSeparator("\n");
+    }
+
+    /**
+     * Kirjoittaa aikaikkunaa leikkaavat varaukset rivi kerrallaan. Rivit luetaan
+     * tietokantakursorilta, joten muistinkäyttö ei riipu vietävien rivien määrästä.
+     *
+     * @param from   ikkunan alku tai null (rajaton)
+     * @param to     ikkunan loppu tai null (rajaton)
+     * @param roomId huone tai null
+     * @param user   käyttäjä tai null
+     * @return kirjoitettujen rivien määrä
+     */
+    @Transactional(readOnly = true)
+    public long exportReservations(LocalDateTime from, LocalDateTime to, String roomId, String user,
+            OutputStream out) throws IOException {
+        validateWindow(from, to);
+        LocalDateTime windowFrom = from != null ? from : ReservationService.WINDOW_MIN;
+        LocalDateTime windowTo = to != null ? to : ReservationService.WINDOW_MAX;
+
+        long count = 0;
+        try (Stream<ReservationRow> rows = streamRows(windowFrom, windowTo, blankToNull(roomId), blankToNull(user));
+                SequenceWriter sequence = writer.writeValues(out)) {
+            Iterator<ReservationRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sequence.write(toResponse(iterator.next()));
+                if (++count % FLUSH_EVERY == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Valitsee suodattimia vastaavan kyselyn, jotta kukin käyttää omaa indeksiään
+     */
+    private Stream<ReservationRow> streamRows(LocalDateTime from, LocalDateTime to, String roomId, String user) {
+        if (roomId != null) {
+            return repository.streamForExportByRoom(from, to, roomId, user);
+        }
+        if (user != null) {
+            return repository.streamForExportByUser(from, to, user);
+        }
+        return repository.streamForExport(from, to);
+    }
+
+    /**
+     * Aikaikkunan tarkistus ennen kuin vastauksen kirjoitus aloitetaan
+     */
+    public void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidReservationTimeException("Aikaikkunan alun täytyy olla ennen loppua.");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static ReservationResponse toResponse(ReservationRow row) {
+        return new ReservationResponse(
+                row.getId().toString(),
+                row.getRoomId(),
+                row.getStartTime(),
+                row.getEndTime(),
+                row.getUser(),
+                row.getCreatedAt(),
+                row.getUpdatedAt());
+    }
+}
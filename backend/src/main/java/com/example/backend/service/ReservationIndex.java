@@ -0,0 +1,242 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Huonekohtainen muistinvarainen aikaväli-indeksi päällekkäisyyksien tarkistukseen.
+ *
+ * Jokaisen huoneen varaukset pidetään alkamisajan mukaan järjestettynä. Saman huoneen
+ * varaukset eivät leikkaa toisiaan (päällekkäisyystarkistus tai tietokannan rajoite),
+ * joten aikaväliä [alku, loppu) voivat leikata vain viimeinen ennen alkua alkava varaus
+ * ja ensimmäinen alun jälkeen alkava varaus. Tarkistus on kaksi O(log n) -hakua,
+ * riippumatta huoneen historian pituudesta tai pisimmästä varauksesta.
+ *
+ * Toistuvat sarjat pidetään sääntöinä (Recurrence), ja niiden esiintymät lasketaan
+ * vain tarkistettavalle aikavälille.
+ *
+ * Mittari: reservation.overlap.scanned (tarkistuksessa läpikäytyjen varausten määrä).
+ */
+@Component
+public class ReservationIndex {
+
+    private final Map<String, RoomIntervals> rooms = new ConcurrentHashMap<>();
+
+    // Varauksen nykyinen huone: poisto ja siirto eivät riipu kutsujan (mahdollisesti vanhentuneesta) huoneesta
+    private final Map<UUID, String> roomById = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, Recurrence>> series = new ConcurrentHashMap<>();
+
+    // null, kun indeksi on luotu ilman mittarirekisteriä (esim. erän sisäinen indeksi)
+    private final DistributionSummary scanned;
+
+    public ReservationIndex() {
+        this.scanned = null;
+    }
+
+    @Autowired
+    public ReservationIndex(MeterRegistry registry) {
+        this.scanned = DistributionSummary.builder("reservation.overlap.scanned")
+                .description("Reservations scanned per overlap check")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Tarkista, onko huoneessa aikaväliä [start, end) leikkaava varaus tai sarjan esiintymä
+     *
+     * @param excludeId varaus, joka jätetään huomiotta (päivitettäessä), tai null
+     */
+    public boolean hasOverlap(String roomId, LocalDateTime start, LocalDateTime end, UUID excludeId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        return (intervals != null && intervals.hasOverlap(toMicros(start), toMicros(end), excludeId, scanned))
+                || hasSeriesOverlap(roomId, start, end);
+    }
+
+    /**
+     * Tarkista vain yksittäiset varaukset (ilman toistuvia sarjoja)
+     */
+    public boolean hasReservationOverlap(String roomId, LocalDateTime start, LocalDateTime end) {
+        RoomIntervals intervals = rooms.get(roomId);
+        return intervals != null && intervals.hasOverlap(toMicros(start), toMicros(end), null, null);
+    }
+
+    /**
+     * Tarkista vain toistuvien sarjojen esiintymät
+     */
+    public boolean hasSeriesOverlap(String roomId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Recurrence> roomSeries = series.get(roomId);
+        if (roomSeries == null) {
+            return false;
+        }
+        for (Recurrence recurrence : roomSeries.values()) {
+            if (recurrence.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lisää tai korvaa toistuvan sarjan
+     */
+    public void putSeries(String roomId, Recurrence recurrence) {
+        series.computeIfAbsent(roomId, key -> new ConcurrentHashMap<>())
+                .put(recurrence.getSeriesId(), recurrence);
+    }
+
+    /**
+     * Poistaa toistuvan sarjan
+     */
+    public void removeSeries(String roomId, String seriesId) {
+        Map<String, Recurrence> roomSeries = series.get(roomId);
+        if (roomSeries != null) {
+            roomSeries.remove(seriesId);
+        }
+    }
+
+    /**
+     * Lisää tai korvaa varauksen indeksissä. Jos varaus on indeksissä toisessa huoneessa,
+     * se poistetaan sieltä.
+     */
+    public void put(UUID id, String roomId, LocalDateTime start, LocalDateTime end) {
+        String previousRoomId = roomById.put(id, roomId);
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            removeFromRoom(id, previousRoomId);
+        }
+        rooms.computeIfAbsent(roomId, key -> new RoomIntervals())
+                .put(new Interval(id, toMicros(start), toMicros(end)));
+    }
+
+    /**
+     * Poistaa varauksen indeksistä siitä huoneesta, jossa se on indeksoituna
+     */
+    public void remove(UUID id) {
+        String roomId = roomById.remove(id);
+        if (roomId != null) {
+            removeFromRoom(id, roomId);
+        }
+    }
+
+    /**
+     * Huone, jossa varaus on indeksoituna, tai null
+     */
+    public String roomOf(UUID id) {
+        return roomById.get(id);
+    }
+
+    private void removeFromRoom(UUID id, String roomId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        if (intervals != null) {
+            intervals.remove(id);
+        }
+    }
+
+    /**
+     * Tyhjentää koko indeksin (ennen uudelleenrakennusta)
+     */
+    public void clear() {
+        rooms.clear();
+        roomById.clear();
+        series.clear();
+    }
+
+    /**
+     * Indeksoitujen varausten määrä huoneessa
+     */
+    public int size(String roomId) {
+        RoomIntervals intervals = rooms.get(roomId);
+        return intervals == null ? 0 : intervals.size();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static final class Interval {
+        private final UUID id;
+        private final long start;
+        private final long end;
+
+        private Interval(UUID id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Hakuavain, joka järjestyy ennen kaikkia samana hetkenä alkavia varauksia
+         */
+        private static Interval probe(long start) {
+            return new Interval(null, start, start);
+        }
+    }
+
+    private static final class RoomIntervals {
+        private static final Comparator<Interval> ORDER = Comparator
+                .comparingLong((Interval interval) -> interval.start)
+                .thenComparing(interval -> interval.id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private final NavigableSet<Interval> byStart = new TreeSet<>(ORDER);
+        private final Map<UUID, Interval> byId = new HashMap<>();
+
+        synchronized boolean hasOverlap(long start, long end, UUID excludeId, DistributionSummary scanned) {
+            Interval probe = Interval.probe(start);
+            int count = 0;
+            boolean overlap = false;
+
+            // Edeltäjä: viimeinen ennen alkua alkava varaus (ohitetaan päivitettävä varaus kerran)
+            Interval before = byStart.lower(probe);
+            if (before != null && before.id.equals(excludeId)) {
+                count++;
+                before = byStart.lower(before);
+            }
+            if (before != null) {
+                count++;
+                overlap = before.end > start;
+            }
+
+            // Seuraajat: alun jälkeen alkavat varaukset; ohitetaan vain päivitettävä varaus ja
+            // tasan alkuhetkeen osuvat nollan mittaiset varaukset
+            for (Interval after = byStart.ceiling(probe); !overlap && after != null && after.start < end;
+                    after = byStart.higher(after)) {
+                count++;
+                overlap = after.end > start && !after.id.equals(excludeId);
+            }
+            if (scanned != null) {
+                scanned.record(count);
+            }
+            return overlap;
+        }
+
+        synchronized void put(Interval interval) {
+            Interval previous = byId.put(interval.id, interval);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(interval);
+        }
+
+        synchronized void remove(UUID id) {
+            Interval previous = byId.remove(id);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ReservationSeries;
+import com.example.backend.repository.ReservationRepository;
+import com.example.backend.repository.ReservationSeriesRepository;
+import com.example.backend.repository.ReservationSlot;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rakentaa päällekkäisyysindeksin ja varauskalenterin tietokannasta käynnistyksen yhteydessä.
+ *
+ * Lataus tehdään heti singletonien luonnin jälkeen, ennen kuin web-palvelin käynnistyy ja
+ * ottaa pyyntöjä vastaan: muuten päällekkäisyydet tarkistettaisiin tyhjää indeksiä vasten.
+ * Samasta syystä indeksiä ei tyhjennetä, vaan se täytetään vain kerran ennen kirjoituksia.
+ */
+@Component
+public class ReservationIndexLoader implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationIndexLoader.class);
+
+    private final ReservationRepository reservationRepository;
+
+    private final ReservationSeriesRepository seriesRepository;
+
+    private final ReservationIndex index;
+
+    private final OccupancyCalendar calendar;
+
+    public ReservationIndexLoader(ReservationRepository reservationRepository,
+            ReservationSeriesRepository seriesRepository, ReservationIndex index, OccupancyCalendar calendar) {
+        this.reservationRepository = reservationRepository;
+        this.seriesRepository = seriesRepository;
+        this.index = index;
+        this.calendar = calendar;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<ReservationSlot> slots = reservationRepository.findAllSlots();
+        List<ReservationSeries> series = seriesRepository.findAll();
+        for (ReservationSlot slot : slots) {
+            index.put(slot.getId(), slot.getRoomId(), slot.getStartTime(), slot.getEndTime());
+        }
+        for (ReservationSeries rule : series) {
+            index.putSeries(rule.getRoomId(), Recurrence.of(rule));
+        }
+        calendar.rebuild(slots);
+        logger.info("Reservation index loaded with {} reservations and {} series", slots.size(), series.size());
+        logger.info("Occupancy calendar loaded: {} room-days, ~{} bytes",
+                calendar.dayCount(), calendar.memoryFootprintBytes());
+    }
+}
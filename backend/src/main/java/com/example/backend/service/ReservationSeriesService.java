@@ -0,0 +1,139 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.request.CreateSeriesRequest;
+import com.example.backend.dto.response.SeriesOccurrenceResponse;
+import com.example.backend.dto.response.SeriesResponse;
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.exception.ReservationNotFoundException;
+import com.example.backend.exception.RoomAlreadyBookedException;
+import com.example.backend.model.ReservationSeries;
+import com.example.backend.repository.ReservationSeriesRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+/**
+ * Toistuvat varaukset. Sarja tallennetaan yhtenä sääntönä, ja esiintymät lasketaan
+ * vain pyydetylle aikaikkunalle.
+ */
+@Service
+public class ReservationSeriesService {
+
+    // Yläraja yhden sarjan esiintymille, jotta luonnin tarkistus pysyy rajattuna
+    public static final int MAX_OCCURRENCES = 1000;
+
+    // Esiintymähaun pisin sallittu aikaikkuna
+    public static final Duration MAX_WINDOW = Duration.ofDays(366);
+
+    private final ReservationSeriesRepository repository;
+
+    private final ReservationIndex index;
+
+    private final RoomLocks locks;
+
+    public ReservationSeriesService(ReservationSeriesRepository repository, ReservationIndex index,
+            RoomLocks locks) {
+        this.repository = repository;
+        this.index = index;
+        this.locks = locks;
+    }
+
+    /**
+     * Luodaan toistuva varaus. Jokainen esiintymä tarkistetaan olemassa olevia
+     * varauksia ja sarjoja vasten ennen tallennusta.
+     */
+    public SeriesResponse createSeries(CreateSeriesRequest request) {
+        if (request.getStartTime().isBefore(LocalDateTime.now())) {
+            throw new InvalidReservationTimeException("Varaus ei voi olla menneisyydessä.");
+        }
+
+        ReservationSeries series = new ReservationSeries();
+        series.setRoomId(request.getRoomId());
+        series.setStartTime(request.getStartTime());
+        series.setEndTime(request.getEndTime());
+        series.setUser(request.getUser());
+        series.setFrequency(request.getFrequency());
+        series.setIntervalCount(request.getInterval());
+        series.setUntil(request.getUntil());
+        series.setOccurrenceCount(request.getCount());
+
+        Recurrence recurrence = Recurrence.of(series);
+        if (recurrence.occurrenceCount() > MAX_OCCURRENCES) {
+            throw new InvalidReservationTimeException(
+                    "Toistuvassa varauksessa voi olla enintään " + MAX_OCCURRENCES + " esiintymää.");
+        }
+
+        ReservationSeries saved = locks.withRoomLock(series.getRoomId(), () -> {
+            boolean conflict = recurrence.occurrences(series.getStartTime(), recurrence.lastEnd())
+                    .anyMatch(occurrence -> index.hasOverlap(series.getRoomId(),
+                            occurrence.getStart(), occurrence.getEnd(), null));
+            if (conflict) {
+                throw new RoomAlreadyBookedException("Huone on jo varattu jonakin toistuvan varauksen aikana.");
+            }
+            ReservationSeries stored = repository.save(series);
+            index.putSeries(stored.getRoomId(), recurrence);
+            return stored;
+        });
+        return toResponse(saved, recurrence);
+    }
+
+    /**
+     * Haetaan yksittäinen toistuva varaus
+     */
+    public SeriesResponse getSeriesById(String id) {
+        ReservationSeries series = repository.findById(id)
+                .orElseThrow(() -> new ReservationNotFoundException("Toistuvaa varausta ei löytynyt: " + id));
+        return toResponse(series, Recurrence.of(series));
+    }
+
+    /**
+     * Haetaan huoneen toistuvien varausten esiintymät aikaikkunasta [from, to)
+     * alkamisajan mukaan järjestettynä
+     */
+    public List<SeriesOccurrenceResponse> getOccurrences(String roomId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidReservationTimeException("Aikaikkunan alun täytyy olla ennen loppua.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new InvalidReservationTimeException("Aikaikkuna voi olla enintään " + MAX_WINDOW.toDays() + " päivää.");
+        }
+
+        return repository.findByRoomId(roomId).stream()
+                .flatMap(series -> Recurrence.of(series).occurrences(from, to)
+                        .map(occurrence -> new SeriesOccurrenceResponse(series.getId(), occurrence.getIndex(),
+                                series.getRoomId(), occurrence.getStart(), occurrence.getEnd(), series.getUser())))
+                .sorted(Comparator.comparing(SeriesOccurrenceResponse::getStartTime)
+                        .thenComparing(SeriesOccurrenceResponse::getSeriesId))
+                .toList();
+    }
+
+    /**
+     * Poistetaan toistuva varaus kaikkine esiintymineen
+     */
+    public void deleteSeries(String id) {
+        ReservationSeries series = repository.findById(id)
+                .orElseThrow(() -> new ReservationNotFoundException("Toistuvaa varausta ei löytynyt: " + id));
+
+        locks.withRoomLock(series.getRoomId(), () -> {
+            repository.delete(series);
+            index.removeSeries(series.getRoomId(), id);
+            return null;
+        });
+    }
+
+    private static SeriesResponse toResponse(ReservationSeries series, Recurrence recurrence) {
+        return new SeriesResponse(
+                series.getId(),
+                series.getRoomId(),
+                series.getStartTime(),
+                series.getEndTime(),
+                series.getUser(),
+                series.getFrequency(),
+                series.getIntervalCount(),
+                series.getUntil(),
+                recurrence.occurrenceCount(),
+                recurrence.lastEnd());
+    }
+}
@@ -1,138 +1,490 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.request.BatchReservationRequest;
 import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.dto.response.BatchItemResult;
+import com.example.backend.dto.response.BatchReservationResponse;
+import com.example.backend.dto.response.ReservationPage;
 import com.example.backend.dto.response.ReservationResponse;
 import com.example.backend.exception.InvalidReservationTimeException;
 import com.example.backend.exception.ReservationException;
 import com.example.backend.exception.RoomAlreadyBookedException;
 import com.example.backend.model.Reservation;
 import com.example.backend.repository.ReservationRepository;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ReservationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Avoimen aikaikkunan rajat (mahtuvat myös PostgreSQL:n timestamp-tyyppiin)
+    static final LocalDateTime WINDOW_MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime WINDOW_MAX = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    // Pienin UUID: ensimmäisen sivun kursori (PostgreSQL ja H2 vertaavat uuid-arvoja tavuittain)
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    // Ajastin tageilla operation (list, create, create_batch, update, delete) ja outcome
+    static final String OPERATION_TIMER = "reservation.operation";
+
     private final ReservationRepository repository;
 
-    public ReservationService(ReservationRepository repository) {
+    private final ReservationIndex index;
+
+    private final RoomLocks locks;
+
+    private final ApplicationEventPublisher events;
+
+    private final RoomVersions versions;
+
+    private final ServiceMetrics metrics;
+
+    @Value("${app.reservation.conflict-mode:application}")
+    private ConflictMode conflictMode = ConflictMode.APPLICATION;
+
+    // Varauksen enimmäiskesto: aikaikkunan haku aloitetaan hetkestä from - maxDuration
+    @Value("${app.reservation.max-duration:P7D}")
+    private Duration maxDuration = Duration.ofDays(7);
+
+    public ReservationService(ReservationRepository repository, ReservationIndex index, RoomLocks locks,
+            ApplicationEventPublisher events, RoomVersions versions, ServiceMetrics metrics) {
         this.repository = repository;
+        this.index = index;
+        this.locks = locks;
+        this.events = events;
+        this.versions = versions;
+        this.metrics = metrics;
     }
 
     /**
-     * Haetaan kaikki varaukset tietylle huoneelle
+     * Haetaan huoneen varaukset aikaikkunasta sivu kerrallaan.
+     * Sivu jatkuu kursorin (edellisen sivun viimeinen alkamisaika ja ID) jälkeen,
+     * joten hakukustannus ei riipu siitä, kuinka monta sivua on jo luettu.
+     *
+     * @param from   ikkunan alku tai null (rajaton)
+     * @param to     ikkunan loppu tai null (rajaton)
+     * @param cursor edellisen sivun nextCursor tai null ensimmäiselle sivulle
+     * @param limit  sivun koko, rajataan välille 1..MAX_PAGE_SIZE
      */
-    public List<ReservationResponse> getReservationsByRoom(String roomId) {
-        return repository.findByRoomId(roomId)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ReservationPage getReservationsByRoom(String roomId, LocalDateTime from, LocalDateTime to,
+            String cursor, int limit) {
+        return metrics.record(OPERATION_TIMER, "list", () -> doListByRoom(roomId, from, to, cursor, limit));
+    }
+
+    private ReservationPage doListByRoom(String roomId, LocalDateTime from, LocalDateTime to,
+            String cursor, int limit) {
+        LocalDateTime windowFrom = from != null ? from : WINDOW_MIN;
+        LocalDateTime windowTo = to != null ? to : WINDOW_MAX;
+        if (!windowFrom.isBefore(windowTo)) {
+            throw new InvalidReservationTimeException("Aikaikkunan alun täytyy olla ennen loppua.");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime afterStart = WINDOW_MIN;
+        UUID afterId = MIN_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterStart = LocalDateTime.parse(position[0]);
+            afterId = UUID.fromString(position[1]);
+        }
+
+        // Versio ennen rivejä samasta kannasta: replikan viive ei voi antaa sivulle liian uutta versiota
+        long version = versions.stored(roomId);
+
+        // Ikkunaa leikkaava varaus alkaa aikaisintaan maxDuration ennen ikkunaa
+        LocalDateTime earliestStart = windowFrom.minus(maxDuration);
+        LocalDateTime minStart = afterStart.isAfter(earliestStart) ? afterStart : earliestStart;
+
+        // Haetaan yksi ylimääräinen rivi, jotta tiedetään onko seuraavaa sivua
+        List<ReservationResponse> items = repository.findWindowAfter(
+                roomId, windowFrom, windowTo, minStart, afterStart, afterId, PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            ReservationResponse last = items.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getStartTime(), last.getId());
+        }
+        return new ReservationPage(items, nextCursor, version);
     }
 
     /**
      * Haetaan yksittäinen varaus ID:n perusteella
      */
     public ReservationResponse getReservationById(String id) {
-        Reservation reservation = repository.findById(id)
+        return repository.findResponseById(parseId(id))
                 .orElseThrow(() -> new ReservationException("Varausta ei löydy ID:llä: " + id));
-        return toResponse(reservation);
     }
 
     /**
      * Luodaan uusi varaus validoinnin kanssa
      */
     public ReservationResponse createReservation(CreateReservationRequest request) {
+        return metrics.record(OPERATION_TIMER, "create", () -> doCreate(request));
+    }
+
+    private ReservationResponse doCreate(CreateReservationRequest request) {
+        // 1-2. Validoi ajat
+        validateNewTimes(request);
+        Reservation reservation = toEntity(request);
+
+        // 3. Tarkista päällekkäisyydet ja 4. tallenna saman huoneen lukon sisällä
+        Reservation saved = locks.withRoomLock(request.getRoomId(), () -> {
+            if (hasConflict(request.getRoomId(), request.getStartTime(), request.getEndTime(), null)) {
+                throw new RoomAlreadyBookedException(
+                        "Huone on jo varattu valittuna aikana.");
+            }
+
+            Reservation stored = saveReservation(reservation, "Huone on jo varattu valittuna aikana.");
+            index.put(stored.getId(), stored.getRoomId(), stored.getStartTime(), stored.getEndTime());
+            events.publishEvent(ReservationChangedEvent.created(stored));
+            versions.bump(stored.getRoomId());
+            return stored;
+        });
+        return toResponse(saved);
+    }
+
+    /**
+     * Luodaan useita varauksia kerralla.
+     * Päällekkäisyydet tarkistetaan sekä olemassa oleviin varauksiin että erän muihin varauksiin
+     * kaikkien erän huoneiden lukkojen sisällä, ja hyväksytyt varaukset tallennetaan yhdessä
+     * transaktiossa (JDBC-eräajo hibernate.jdbc.batch_size -asetuksen mukaan).
+     */
+    public BatchReservationResponse createReservations(List<CreateReservationRequest> requests,
+            BatchReservationRequest.Mode mode) {
+        return metrics.record(OPERATION_TIMER, "create_batch", () -> doCreateBatch(requests, mode));
+    }
+
+    private BatchReservationResponse doCreateBatch(List<CreateReservationRequest> requests,
+            BatchReservationRequest.Mode mode) {
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+
+        // 1. Aikojen validointi
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                validateNewTimes(requests.get(i));
+                candidates.add(i);
+            } catch (InvalidReservationTimeException e) {
+                results[i] = new BatchItemResult(i, BatchItemResult.Status.INVALID_TIME, null, e.getMessage());
+            }
+        }
+
+        Set<String> roomIds = new TreeSet<>();
+        candidates.forEach(i -> roomIds.add(requests.get(i).getRoomId()));
+
+        locks.withRoomLocks(roomIds, () -> {
+            // 2. Päällekkäisyydet olemassa oleviin ja erän aiempiin varauksiin
+            ReservationIndex batchIndex = new ReservationIndex();
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            List<Reservation> accepted = new ArrayList<>();
+            for (int i : candidates) {
+                CreateReservationRequest request = requests.get(i);
+                String roomId = request.getRoomId();
+                boolean conflict = hasConflict(roomId, request.getStartTime(), request.getEndTime(), null)
+                        || batchIndex.hasOverlap(roomId, request.getStartTime(), request.getEndTime(), null);
+                if (conflict) {
+                    results[i] = new BatchItemResult(i, BatchItemResult.Status.CONFLICT, null,
+                            "Huone on jo varattu valittuna aikana.");
+                    continue;
+                }
+                Reservation reservation = toEntity(request);
+                batchIndex.put(reservation.getId(), reservation.getRoomId(),
+                        reservation.getStartTime(), reservation.getEndTime());
+                acceptedIndexes.add(i);
+                accepted.add(reservation);
+            }
+
+            boolean hasFailures = Arrays.stream(results).anyMatch(result -> result != null);
+            if (mode == BatchReservationRequest.Mode.ALL_OR_NOTHING && hasFailures) {
+                abort(results, acceptedIndexes, "Erä peruttiin, koska osa varauksista oli virheellisiä.");
+                return null;
+            }
+
+            // 3. Tallennus yhdessä transaktiossa
+            try {
+                List<Reservation> saved = repository.saveAll(accepted);
+                for (int j = 0; j < saved.size(); j++) {
+                    markCreated(results, acceptedIndexes.get(j), saved.get(j));
+                }
+            } catch (DataIntegrityViolationException e) {
+                if (!isOverlapViolation(e)) {
+                    throw e;
+                }
+                // Tietokantatila: rajoite hylkäsi erän, eikä virheellistä riviä voi tunnistaa eräajosta
+                if (mode == BatchReservationRequest.Mode.ALL_OR_NOTHING) {
+                    abort(results, acceptedIndexes, "Erä peruttiin, koska huone on jo varattu osasta aikoja.");
+                    return null;
+                }
+                for (int j = 0; j < accepted.size(); j++) {
+                    int i = acceptedIndexes.get(j);
+                    try {
+                        Reservation saved = saveReservation(accepted.get(j), "Huone on jo varattu valittuna aikana.");
+                        markCreated(results, i, saved);
+                    } catch (RoomAlreadyBookedException conflict) {
+                        results[i] = new BatchItemResult(
+                                i, BatchItemResult.Status.CONFLICT, null, conflict.getMessage());
+                    }
+                }
+            }
+            // Yksi versionnosto huonetta kohden, jos erästä tallentui siihen varauksia
+            Arrays.stream(results)
+                    .filter(result -> result != null && result.getStatus() == BatchItemResult.Status.CREATED)
+                    .map(result -> result.getReservation().getRoomId())
+                    .distinct()
+                    .forEach(versions::bump);
+            return null;
+        });
+
+        return new BatchReservationResponse(mode, Arrays.asList(results));
+    }
+
+    private void markCreated(BatchItemResult[] results, int i, Reservation saved) {
+        index.put(saved.getId(), saved.getRoomId(), saved.getStartTime(), saved.getEndTime());
+        events.publishEvent(ReservationChangedEvent.created(saved));
+        results[i] = new BatchItemResult(i, BatchItemResult.Status.CREATED, toResponse(saved), null);
+    }
+
+    private static void abort(BatchItemResult[] results, List<Integer> acceptedIndexes, String message) {
+        for (int i : acceptedIndexes) {
+            results[i] = new BatchItemResult(i, BatchItemResult.Status.ABORTED, null, message);
+        }
+    }
+
+    /**
+     * Päivitetään olemassa olevaa varausta
+     */
+    public ReservationResponse updateReservation(String id, CreateReservationRequest request) {
+        return metrics.record(OPERATION_TIMER, "update", () -> doUpdate(id, request));
+    }
+
+    private ReservationResponse doUpdate(String id, CreateReservationRequest request) {
+        UUID reservationId = parseId(id);
+        String roomHint = currentRoomOf(reservationId, id);
         LocalDateTime now = LocalDateTime.now();
-        // 1. Validoi että alkamisaika on tulevaisuudessa
+        // Validoi uuden ajan
         if (request.getStartTime().isBefore(now)) {
             throw new InvalidReservationTimeException(
-                    "Varaus ei voi olla menneisyydessä.");
+                    "Varauksen alkamisaika ei voi olla menneisyydessä.");
         }
 
-        // 2. Validoi että päättymisaika on alkamisajan jälkeen
         if (request.getEndTime().isBefore(request.getStartTime())) {
             throw new InvalidReservationTimeException(
                     "Päättymisaika ei voi olla alkamisaikaa ennen.");
         }
+        validateDuration(request);
 
-        // 3. Tarkista päällekkäisyydet
-        List<Reservation> existingReservations = repository.findByRoomId(request.getRoomId());
-        boolean hasOverlap = existingReservations.stream()
-                .anyMatch(r -> isOverlapping(request, r));
+        // Tarkista päällekkäisyydet (poislukien tämä varaus) ja päivitä molempien huoneiden lukkojen sisällä
+        Reservation updated = withReservationLock(id, roomHint, request.getRoomId(), reservation -> {
+            String previousRoomId = reservation.getRoomId();
+            LocalDateTime previousStartTime = reservation.getStartTime();
+            LocalDateTime previousEndTime = reservation.getEndTime();
+            if (hasConflict(request.getRoomId(), request.getStartTime(), request.getEndTime(), reservationId)) {
+                throw new RoomAlreadyBookedException(
+                        "Huone on varattu uuden ajan osalta.");
+            }
 
-        if (hasOverlap) {
-            throw new RoomAlreadyBookedException(
-                    "Huone on jo varattu valittuna aikana.");
-        }
+            // Päivitä varaus
+            reservation.setRoomId(request.getRoomId());
+            reservation.setStartTime(request.getStartTime());
+            reservation.setEndTime(request.getEndTime());
+            reservation.setUser(request.getUser());
 
-        // 4. Tallenna uusi varaus
-        Reservation reservation = new Reservation();
-        reservation.setRoomId(request.getRoomId());
-        reservation.setStartTime(request.getStartTime());
-        reservation.setEndTime(request.getEndTime());
-        reservation.setUser(request.getUser());
+            Reservation stored = saveReservation(reservation, "Huone on varattu uuden ajan osalta.");
+            index.put(reservationId, stored.getRoomId(), stored.getStartTime(), stored.getEndTime());
+            events.publishEvent(ReservationChangedEvent.updated(
+                    stored, previousRoomId, previousStartTime, previousEndTime));
+            versions.bump(stored.getRoomId());
+            if (!previousRoomId.equals(stored.getRoomId())) {
+                versions.bump(previousRoomId);
+            }
+            return stored;
+        });
+        return toResponse(updated);
+    }
 
-        Reservation saved = repository.save(reservation);
-        return toResponse(saved);
+    /**
+     * Poistaa varauksen ID:n perusteella
+     */
+    public void deleteReservation(String id) {
+        metrics.record(OPERATION_TIMER, "delete", () -> doDelete(id));
+    }
+
+    private void doDelete(String id) {
+        String roomHint = currentRoomOf(parseId(id), id);
+        withReservationLock(id, roomHint, null, reservation -> {
+            repository.delete(reservation);
+            index.remove(reservation.getId());
+            events.publishEvent(ReservationChangedEvent.deleted(reservation));
+            versions.bump(reservation.getRoomId());
+            return reservation;
+        });
     }
 
     /**
-     * Päivitetään olemassa olevaa varausta
+     * Huone, jonka lukolla varausta muutetaan: indeksistä, tai tietokannasta jos indeksi ei
+     * tunne varausta (esim. toisen instanssin luoma varaus tietokantatilassa)
      */
-    public ReservationResponse updateReservation(String id, CreateReservationRequest request) {
-        Reservation reservation = repository.findById(id)
-                .orElseThrow(() -> new ReservationException("Varausta ei löydy ID:llä: " + id));
+    private String currentRoomOf(UUID reservationId, String id) {
+        String roomId = index.roomOf(reservationId);
+        return roomId != null ? roomId : findReservation(id).getRoomId();
+    }
+
+    /**
+     * Suorittaa toiminnon varauksen huoneen (ja kohdehuoneen) lukkojen sisällä.
+     * Varaus ladataan lukon sisällä, jotta toiminto ei käsittele rinnakkain siirrettyä tai
+     * poistettua varausta. Jos varaus on ehtinyt siirtyä toiseen huoneeseen, yritetään
+     * uudelleen sen huoneen lukolla.
+     *
+     * @param targetRoomId huone, johon varaus siirretään, tai null
+     */
+    private Reservation withReservationLock(String id, String roomId, String targetRoomId,
+            Function<Reservation, Reservation> action) {
+        String lockedRoomId = roomId;
+        while (true) {
+            String expectedRoomId = lockedRoomId;
+            Reservation result = locks.withRoomLocks(expectedRoomId,
+                    targetRoomId != null ? targetRoomId : expectedRoomId, () -> {
+                        Reservation current = findReservation(id);
+                        return current.getRoomId().equals(expectedRoomId) ? action.apply(current) : null;
+                    });
+            if (result != null) {
+                return result;
+            }
+            lockedRoomId = currentRoomOf(parseId(id), id);
+        }
+    }
+
+    /**
+     * Päällekkäisyystarkistus ennen tallennusta. Tietokantatilassa rajoite tarkistaa
+     * yksittäiset varaukset tallennuksessa, joten indeksistä tarkistetaan vain toistuvat
+     * sarjat, joita rajoite ei tunne.
+     */
+    private boolean hasConflict(String roomId, LocalDateTime start, LocalDateTime end, UUID excludeId) {
+        return conflictMode == ConflictMode.APPLICATION
+                ? index.hasOverlap(roomId, start, end, excludeId)
+                : index.hasSeriesOverlap(roomId, start, end);
+    }
+
+    /**
+     * Uuden varauksen aikojen validointi
+     */
+    private void validateNewTimes(CreateReservationRequest request) {
         LocalDateTime now = LocalDateTime.now();
-        // Validoi uuden ajan
+        // Validoi että alkamisaika on tulevaisuudessa
         if (request.getStartTime().isBefore(now)) {
             throw new InvalidReservationTimeException(
-                    "Varauksen alkamisaika ei voi olla menneisyydessä.");
+                    "Varaus ei voi olla menneisyydessä.");
         }
 
+        // Validoi että päättymisaika on alkamisajan jälkeen
         if (request.getEndTime().isBefore(request.getStartTime())) {
             throw new InvalidReservationTimeException(
                     "Päättymisaika ei voi olla alkamisaikaa ennen.");
         }
+        validateDuration(request);
+    }
 
-        // Tarkista päällekkäisyydet (poislukien tämä varaus)
-        List<Reservation> existingReservations = repository.findByRoomId(request.getRoomId());
-        boolean hasOverlap = existingReservations.stream()
-                .filter(r -> !r.getId().equals(id))
-                .anyMatch(r -> isOverlapping(request, r));
-
-        if (hasOverlap) {
-            throw new RoomAlreadyBookedException(
-                    "Huone on varattu uuden ajan osalta.");
+    /**
+     * Varaus ei saa olla pidempi kuin app.reservation.max-duration (aikaikkunahaun alaraja)
+     */
+    private void validateDuration(CreateReservationRequest request) {
+        if (Duration.between(request.getStartTime(), request.getEndTime()).compareTo(maxDuration) > 0) {
+            throw new InvalidReservationTimeException(
+                    "Varaus voi kestää enintään " + maxDuration.toHours() + " tuntia.");
         }
+    }
 
-        // Päivitä varaus
+    private static Reservation toEntity(CreateReservationRequest request) {
+        Reservation reservation = new Reservation();
         reservation.setRoomId(request.getRoomId());
         reservation.setStartTime(request.getStartTime());
         reservation.setEndTime(request.getEndTime());
         reservation.setUser(request.getUser());
-
-        Reservation updated = repository.save(reservation);
-        return toResponse(updated);
+        return reservation;
     }
 
     /**
-     * Poistaa varauksen ID:n perusteella
+     * Tallentaa varauksen ja kääntää tietokannan päällekkäisyysrajoitteen rikkeen
+     * RoomAlreadyBookedException-poikkeukseksi
      */
-    public void deleteReservation(String id) {
-        if (!repository.existsById(id)) {
-            throw new ReservationException("Varausta ei löydy ID:llä: " + id);
+    private Reservation saveReservation(Reservation reservation, String conflictMessage) {
+        try {
+            return repository.save(reservation);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new RoomAlreadyBookedException(conflictMessage);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isOverlapViolation(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && ConflictMode.EXCLUSION_VIOLATION_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
         }
-        repository.deleteById(id);
+        return false;
     }
 
     /**
-     * Tarkista, ovatko kaksi varausta päällekkäisiä
+     * Varaus merkkijono-ID:n perusteella; virheellinen UUID käsitellään kuten puuttuva varaus
      */
-    private boolean isOverlapping(CreateReservationRequest request, Reservation existing) {
-        return request.getStartTime().isBefore(existing.getEndTime())
-                && request.getEndTime().isAfter(existing.getStartTime());
+    private Reservation findReservation(String id) {
+        return repository.findById(parseId(id))
+                .orElseThrow(() -> new ReservationException("Varausta ei löydy ID:llä: " + id));
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ReservationException("Varausta ei löydy ID:llä: " + id);
+        }
+    }
+
+    private static String encodeCursor(LocalDateTime startTime, String id) {
+        String position = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new ReservationException("Virheellinen sivutuskursori");
+            }
+            LocalDateTime.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ReservationException("Virheellinen sivutuskursori");
+        }
     }
 
     /**
@@ -140,7 +492,7 @@ public class ReservationService {
      */
     private ReservationResponse toResponse(Reservation reservation) {
         return new ReservationResponse(
-                reservation.getId(),
+                reservation.getId().toString(),
                 reservation.getRoomId(),
                 reservation.getStartTime(),
                 reservation.getEndTime(),
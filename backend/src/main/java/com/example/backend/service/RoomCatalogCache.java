@@ -0,0 +1,99 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.model.Room;
+import com.example.backend.repository.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aktiivisten huoneiden luettelo muistissa (read-through).
+ *
+ * Julkaistu tilannekuva on muuttumaton lista, joten lukijat eivät lukitse. Jokainen
+ * huonemuutos kasvattaa sukupolvea; tilannekuva kelpaa vain, jos se on ladattu
+ * nykyisessä sukupolvessa, joten muutoksen kanssa kilpaileva lataus ei jää voimaan.
+ *
+ * Mittarit: room.catalog.cache (result=hit|miss), room.catalog.cache.hit.ratio
+ * ja room.catalog.reload (latauksen kesto).
+ */
+@Component
+public class RoomCatalogCache {
+
+    private final RoomRepository roomRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer reload;
+
+    public RoomCatalogCache(RoomRepository roomRepository, MeterRegistry registry) {
+        this.roomRepository = roomRepository;
+        this.hits = Counter.builder("room.catalog.cache").tag("result", "hit")
+                .description("Room catalog cache lookups").register(registry);
+        this.misses = Counter.builder("room.catalog.cache").tag("result", "miss")
+                .description("Room catalog cache lookups").register(registry);
+        this.reload = Timer.builder("room.catalog.reload")
+                .description("Active room query and snapshot build").register(registry);
+        Gauge.builder("room.catalog.cache.hit.ratio", this, RoomCatalogCache::hitRatio)
+                .description("Share of room catalog lookups served from memory").register(registry);
+    }
+
+    /**
+     * Aktiiviset huoneet; ladataan tietokannasta vain, jos luettelo on mitätöity
+     */
+    public List<RoomResponse> getActiveRooms() {
+        long current = generation.get();
+        Snapshot cached = snapshot.get();
+        if (cached != null && cached.generation == current) {
+            hits.increment();
+            return cached.rooms;
+        }
+
+        misses.increment();
+        List<RoomResponse> rooms = reload.record(() -> roomRepository.findByIsActiveTrue().stream()
+                .map(RoomCatalogCache::toRoomResponse)
+                .toList());
+        snapshot.set(new Snapshot(current, rooms));
+        return rooms;
+    }
+
+    /**
+     * Mitätöi luettelon; kutsutaan jokaisen huonemuutoksen tallennuksen jälkeen
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static RoomResponse toRoomResponse(Room room) {
+        return new RoomResponse(
+                room.getId(),
+                room.getName(),
+                room.getCapacity(),
+                room.getDescription(),
+                room.getLocation(),
+                room.getIsActive(),
+                room.getCreatedAt(),
+                room.getUpdatedAt());
+    }
+
+    private static final class Snapshot {
+        private final long generation;
+        private final List<RoomResponse> rooms;
+
+        private Snapshot(long generation, List<RoomResponse> rooms) {
+            this.generation = generation;
+            this.rooms = rooms;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.backend.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Huonekohtainen lukitus varausten tarkistus- ja tallennusvaiheelle (lock striping).
+ *
+ * Huoneet jaetaan kiinteään määrään lukkoja tunnisteen hajautusarvon perusteella:
+ * saman huoneen kirjoitukset suoritetaan aina peräkkäin, eri huoneet rinnakkain
+ * (ellei kaksi huonetta satu samaan lukkoon). Lukitus koskee vain tätä instanssia;
+ * usean instanssin ympäristössä käytä app.reservation.conflict-mode=database.
+ *
+ * Lukko vapautetaan, kun toiminto palaa, joten toiminnon täytyy myös commitoida
+ * (repository.save ilman ulompaa transaktiota).
+ */
+@Component
+public class RoomLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public RoomLocks(@Value("${app.reservation.lock-stripes:64}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Lock stripe count must be positive: " + stripeCount);
+        }
+        // Pyöristetään kahden potenssiin, jotta indeksi saadaan bittimaskilla
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Suorittaa toiminnon huoneen lukon sisällä
+     */
+    public <T> T withRoomLock(String roomId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeOf(roomId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Suorittaa toiminnon kahden huoneen lukkojen sisällä (varauksen siirto huoneesta toiseen)
+     */
+    public <T> T withRoomLocks(String firstRoomId, String secondRoomId, Supplier<T> action) {
+        if (stripeOf(firstRoomId) == stripeOf(secondRoomId)) {
+            return withRoomLock(firstRoomId, action);
+        }
+        return withRoomLocks(List.of(firstRoomId, secondRoomId), action);
+    }
+
+    /**
+     * Suorittaa toiminnon kaikkien annettujen huoneiden lukkojen sisällä.
+     * Lukot otetaan aina kasvavassa järjestyksessä, joten lukkiutumista ei synny.
+     */
+    public <T> T withRoomLocks(Collection<String> roomIds, Supplier<T> action) {
+        int[] indexes = roomIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Lukkojen määrä (kahden potenssi)
+     */
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    int stripeOf(String roomId) {
+        int hash = roomId.hashCode();
+        // Sekoitetaan ylemmät bitit alempiin kuten HashMap
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
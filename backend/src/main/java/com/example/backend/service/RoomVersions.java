@@ -0,0 +1,108 @@
+package com.example.backend.service;
+
+import com.example.backend.model.RoomVersion;
+import com.example.backend.repository.RoomVersionRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Huoneiden varauslistojen versiot (ETag).
+ *
+ * Versio on tietokannassa (room_reservation_versions), joten kaikki instanssit antavat
+ * samalle tilalle saman ETagin. Ehdollinen haku luetaan muistista: oma kirjoitus poistaa
+ * huoneen arvon heti, ja muiden instanssien kirjoitukset päivittyvät taustahaulla
+ * (app.reservation.version-refresh-ms). Versiot vain kasvavat, joten vanhempi taustahaun
+ * tulos ei korvaa uudempaa arvoa, eikä kirjoituksen kanssa kilpaileva lataus jää voimaan.
+ */
+@Component
+public class RoomVersions {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomVersions.class);
+
+    // Muistissa pidettävien huoneiden enimmäismäärä (ylitys tyhjentää kartan)
+    static final int MAX_ENTRIES = 10_000;
+
+    private final RoomVersionRepository repository;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoomVersions(RoomVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Huoneen nykyinen versio; tietokannasta vain, jos sitä ei ole muistissa
+     */
+    public long current(String roomId) {
+        Long cached = versions.get(roomId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedIn = generation.get();
+        long version = repository.findVersion(roomId).orElse(0L);
+        if (generation.get() == loadedIn) {
+            if (versions.size() >= MAX_ENTRIES) {
+                versions.clear();
+            }
+            versions.merge(roomId, version, Math::max);
+        }
+        return version;
+    }
+
+    /**
+     * Huoneen versio suoraan tietokannasta ohi muistin. Lukutransaktiossa luetaan samasta
+     * kannasta (replikasta) kuin transaktion muut haut.
+     */
+    public long stored(String roomId) {
+        return repository.findVersion(roomId).orElse(0L);
+    }
+
+    /**
+     * Kasvattaa huoneen versiota; kutsutaan jokaisen varauskirjoituksen jälkeen
+     */
+    public void bump(String roomId) {
+        generation.incrementAndGet();
+        versions.remove(roomId);
+        try {
+            try {
+                repository.bump(roomId);
+            } catch (DataIntegrityViolationException e) {
+                // Toinen instanssi loi rivin samaan aikaan; nyt rivi on olemassa
+                repository.bump(roomId);
+            }
+        } catch (DataAccessException e) {
+            // Varaus on jo tallennettu; muut instanssit voivat palauttaa 304:n seuraavaan kirjoitukseen asti
+            logger.warn("Could not bump reservation version of room {}: {}", roomId, e.getMessage());
+        } finally {
+            versions.remove(roomId);
+        }
+    }
+
+    /**
+     * Päivittää muistissa olevat versiot muiden instanssien kirjoituksista
+     */
+    @Scheduled(fixedDelayString = "${app.reservation.version-refresh-ms:1000}")
+    public void refresh() {
+        if (versions.isEmpty()) {
+            return;
+        }
+        for (RoomVersion row : repository.findAll()) {
+            versions.computeIfPresent(row.getRoomId(), (roomId, cached) -> Math.max(cached, row.getVersion()));
+        }
+    }
+
+    /**
+     * Vahva ETag versiosta
+     */
+    public static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+}
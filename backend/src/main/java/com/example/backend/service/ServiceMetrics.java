@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.exception.ReservationException;
+import com.example.backend.exception.RoomAlreadyBookedException;
+import com.example.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Palvelukerroksen ajastimet. Jokainen toiminto mitataan ajastimella, jolla on
+ * tagit operation ja outcome (success, conflict, invalid_time, rejected, busy, error).
+ * Ajastimet julkaisevat histogrammin, joten p99 voidaan laskea Prometheuksessa.
+ */
+@Component
+public class ServiceMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String CONFLICT = "conflict";
+    public static final String INVALID_TIME = "invalid_time";
+    public static final String REJECTED = "rejected";
+    public static final String BUSY = "busy";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Suorittaa toiminnon ja kirjaa sen keston lopputuloksen mukaan
+     */
+    public <T> T record(String name, String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = SUCCESS;
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(timer(name, operation, outcome));
+        }
+    }
+
+    /**
+     * Suorittaa paluuarvottoman toiminnon ja kirjaa sen keston
+     */
+    public void record(String name, String operation, Runnable action) {
+        record(name, operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Histogrammin julkaiseva ajastin (rekisteri palauttaa saman ajastimen samoilla tageilla)
+     */
+    public Timer timer(String name, String operation, String outcome) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    static String outcomeOf(RuntimeException error) {
+        if (error instanceof RoomAlreadyBookedException) {
+            return CONFLICT;
+        }
+        if (error instanceof InvalidReservationTimeException) {
+            return INVALID_TIME;
+        }
+        if (error instanceof ReservationException) {
+            return REJECTED;
+        }
+        if (error instanceof ServiceBusyException) {
+            return BUSY;
+        }
+        return ERROR;
+    }
+}
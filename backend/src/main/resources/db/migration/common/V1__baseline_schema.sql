@@ -0,0 +1,48 @@
+-- Perusskeema (aiemmin ddl-auto=update). IF NOT EXISTS, jotta olemassa oleva tietokanta
+-- voidaan ottaa hallintaan baseline-on-migrate -asetuksella. Yhteensopiva PostgreSQL:n ja H2:n kanssa.
+
+CREATE TABLE IF NOT EXISTS users (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email        VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    display_name VARCHAR(255) NOT NULL,
+    enabled      BOOLEAN      NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS rooms (
+    room_id     VARCHAR(255) PRIMARY KEY,
+    room_name   VARCHAR(255) NOT NULL,
+    capacity    INTEGER      NOT NULL,
+    description VARCHAR(255),
+    location    VARCHAR(255),
+    is_active   BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    id         UUID         PRIMARY KEY,
+    room_id    VARCHAR(255) NOT NULL,
+    start_time TIMESTAMP(6) NOT NULL,
+    end_time   TIMESTAMP(6) NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS reservation_series (
+    id               VARCHAR(255) PRIMARY KEY,
+    room_id          VARCHAR(255) NOT NULL,
+    start_time       TIMESTAMP(6) NOT NULL,
+    end_time         TIMESTAMP(6) NOT NULL,
+    username         VARCHAR(255) NOT NULL,
+    frequency        VARCHAR(16)  NOT NULL,
+    interval_count   INTEGER      NOT NULL,
+    until_time       TIMESTAMP(6),
+    occurrence_count INTEGER,
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Indeksit repositorioiden kyselyille (ks. QueryPlanTest)
+
+-- ReservationRepository.findWindowAfter, streamForExportByRoom: room_id = ? ... ORDER BY start_time, id
+CREATE INDEX IF NOT EXISTS idx_reservations_room_start ON reservations (room_id, start_time, id);
+
+-- RoomRepository.findAvailable (NOT EXISTS) ja päällekkäisyyshaut: room_id = ? AND end_time > :from.
+-- Tulevaisuuteen osuva aikaikkuna ohittaa huoneen menneet varaukset end_time-järjestyksessä.
+CREATE INDEX IF NOT EXISTS idx_reservations_room_end ON reservations (room_id, end_time, start_time);
+
+-- ReservationRepository.streamForExportByUser: username = ? ORDER BY start_time
+CREATE INDEX IF NOT EXISTS idx_reservations_username_start ON reservations (username, start_time);
+
+-- ReservationRepository.streamForExport (ei suodattimia): ORDER BY start_time, id
+CREATE INDEX IF NOT EXISTS idx_reservations_start ON reservations (start_time, id);
+
+-- ReservationSeriesRepository.findByRoomId
+CREATE INDEX IF NOT EXISTS idx_reservation_series_room ON reservation_series (room_id);
+
+-- RoomRepository.findByName, existsByName
+CREATE INDEX IF NOT EXISTS idx_rooms_name ON rooms (room_name);
@@ -0,0 +1,6 @@
+-- Huoneen varauslistan versio (ETag). ReservationService kasvattaa versiota jokaisessa
+-- kirjoituksessa; rivi luodaan ensimmäisellä kirjoituksella (varaukset eivät viittaa rooms-tauluun).
+CREATE TABLE IF NOT EXISTS room_reservation_versions (
+    room_id VARCHAR(255) PRIMARY KEY,
+    version BIGINT       NOT NULL
+);
@@ -0,0 +1,15 @@
+-- Varausten merkkijono-ID:t (varchar, UUID.randomUUID().toString()) natiiviksi uuid-tyypiksi.
+-- Koskee vain ddl-auto=update -aikana luotuja tietokantoja; V1:n luomassa taulussa sarake on jo uuid.
+-- Vanhat arvot ovat kelvollisia UUID-merkkijonoja, joten ne muunnetaan suoraan.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'reservations'
+                 AND column_name = 'id'
+                 AND data_type <> 'uuid') THEN
+        ALTER TABLE reservations ALTER COLUMN id TYPE uuid USING id::uuid;
+    END IF;
+END
+$$;
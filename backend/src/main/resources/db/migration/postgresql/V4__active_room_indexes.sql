@@ -0,0 +1,8 @@
+-- Osittaiset indeksit aktiivisille huoneille (is_active = true). Poistetut huoneet jäävät
+-- tauluun, mutta eivät indekseihin.
+
+-- RoomRepository.findByIsActiveTrue ja findAvailable: ORDER BY capacity, room_name
+CREATE INDEX IF NOT EXISTS idx_rooms_active_capacity ON rooms (capacity, room_name) WHERE is_active;
+
+-- RoomRepository.findAvailable sijaintisuodattimella: lower(location) = ?
+CREATE INDEX IF NOT EXISTS idx_rooms_active_location ON rooms (lower(location)) WHERE is_active;
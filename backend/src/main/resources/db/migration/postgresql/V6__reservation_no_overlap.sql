@@ -0,0 +1,20 @@
+-- Päällekkäisten varausten esto tietokannassa (ks. ConflictMode). Rajoite on olemassa kummassakin
+-- app.reservation.conflict-mode -tilassa; database-tilassa sovellus luottaa pelkästään siihen.
+-- Generoitu sarake kirjoittaa taulun uudelleen ACCESS EXCLUSIVE -lukon alla kerran tässä migraatiossa.
+-- Aiemmin käynnistyksessä luotu sarake ja rajoite (database-tila) hyväksytään sellaisenaan.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE reservations
+    ADD COLUMN IF NOT EXISTS period tsrange
+    GENERATED ALWAYS AS (tsrange(start_time, end_time, '[)')) STORED;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'reservations_no_overlap') THEN
+        ALTER TABLE reservations
+            ADD CONSTRAINT reservations_no_overlap
+            EXCLUDE USING gist (room_id WITH =, period WITH &&);
+    END IF;
+END
+$$;
@@ -0,0 +1,7 @@
+-- Käyttäjälistauksen sähköpostisuodatin (UserRepository.findPageByEmailAfter, streamByEmail):
+-- email LIKE 'etuliite%'. Uniikki-indeksi uk_users_email ei kelpaa LIKE-välihakuun, ellei
+-- tietokannan collation ole C, joten etuliitehaulle oma indeksi varchar_pattern_ops-luokalla.
+--
+-- Suodattamattomat findPageAfter ja streamAll lukevat tarkoituksella pääavaimen järjestyksessä
+-- (users_pkey): id > :afterId -väli ei tarvitse lisäindeksiä.
+CREATE INDEX IF NOT EXISTS idx_users_email_pattern ON users (email varchar_pattern_ops);
@@ -0,0 +1,93 @@
+package com.example.backend.config;
+
+import com.example.backend.security.JwtUtils;
+import com.example.backend.service.ReservationEventHub;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asynkroniset vastaukset (SSE ja NDJSON-vienti) koko Spring Security -suodatinketjun läpi.
+ * AuthTokenFilter ei aja ASYNC-dispatchia, joten sen täytyy päästä valtuutuksen läpi.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncDispatchSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @SpyBean
+    private ReservationEventHub eventHub;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        bearer = "Bearer " + jwtUtils.generateToken("async@example.com");
+        doAnswer(invocation -> {
+            SseEmitter emitter = (SseEmitter) invocation.callRealMethod();
+            emitters.add(emitter);
+            return emitter;
+        }).when(eventHub).subscribe(any());
+    }
+
+    @Test
+    @DisplayName("Should reject the event stream without a token")
+    void testEventsRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/reservations/ROOM1/events"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    @DisplayName("Should complete the event stream through the async dispatch")
+    void testEventStreamCompletes() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reservations/ROOM1/events")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(emitters).hasSize(1);
+        emitters.get(0).complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should complete the export stream through the async dispatch")
+    void testExportCompletes() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reservations/export")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.config;
+
+import com.example.backend.service.ConflictMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import org.h2.api.Trigger;
+
+/**
+ * H2-vastine PostgreSQL:n exclusion constraintille (room_id WITH =, period WITH &&).
+ * Heittää saman SQLState-koodin (23P01), joten palvelu kääntää virheen samalla tavalla.
+ */
+public class H2ReservationOverlapTrigger implements Trigger {
+
+    private int idColumn;
+    private int roomColumn;
+    private int startColumn;
+    private int endColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+            boolean before, int type) throws SQLException {
+        Map<String, Integer> columns = new HashMap<>();
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT COLUMN_NAME, ORDINAL_POSITION FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?")) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columns.put(rs.getString(1).toLowerCase(), rs.getInt(2) - 1);
+                }
+            }
+        }
+        idColumn = columns.get("id");
+        roomColumn = columns.get("room_id");
+        startColumn = columns.get("start_time");
+        endColumn = columns.get("end_time");
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT COUNT(*) FROM reservations "
+                        + "WHERE room_id = ? AND id <> ? AND start_time < ? AND end_time > ?")) {
+            statement.setObject(1, newRow[roomColumn]);
+            statement.setObject(2, newRow[idColumn]);
+            statement.setObject(3, newRow[endColumn]);
+            statement.setObject(4, newRow[startColumn]);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next() && rs.getLong(1) > 0) {
+                    throw new SQLException(
+                            "conflicting key value violates exclusion constraint \""
+                                    + ConflictMode.CONSTRAINT_NAME + "\"",
+                            ConflictMode.EXCLUSION_VIOLATION_STATE);
+                }
+            }
+        }
+    }
+}
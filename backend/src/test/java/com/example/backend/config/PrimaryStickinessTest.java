@@ -0,0 +1,38 @@
+package com.example.backend.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimaryStickinessTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final PrimaryStickiness stickiness = new PrimaryStickiness(1000, now::get);
+
+    @Test
+    @DisplayName("Should keep a writer on the primary for the window only")
+    void testWindow() {
+        assertThat(stickiness.isSticky("alice")).isFalse();
+
+        stickiness.recordWrite("alice");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertThat(stickiness.isSticky("alice")).isTrue();
+        assertThat(stickiness.isSticky("bob")).isFalse();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(stickiness.isSticky("alice")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should extend the window on every write")
+    void testExtend() {
+        stickiness.recordWrite("alice");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(800));
+        stickiness.recordWrite("alice");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(800));
+
+        assertThat(stickiness.isSticky("alice")).isTrue();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.config;
+
+import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.dto.response.ReservationPage;
+import com.example.backend.service.ReservationIndex;
+import com.example.backend.service.ReservationService;
+import com.example.backend.service.RoomLocks;
+import com.example.backend.service.RoomVersions;
+import com.example.backend.service.ServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kaksi erillistä H2-kantaa pääkantana ja replikkana. Replikointia ei ole, joten kummastakin
+ * kannasta luettu tulos näkyy suoraan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.sticky-primary-ms=60000" })
+@Import({ ReadReplicaConfig.class, ReservationService.class, ReservationIndex.class, RoomLocks.class,
+        RoomVersions.class, ServiceMetrics.class, SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(7).withNano(0);
+
+    @Autowired
+    private ReservationService service;
+
+    @Autowired
+    private ReservationIndex index;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void migrateReplica() {
+        // Oikea replikka saa skeeman replikoinnissa
+        Flyway.configure()
+                .dataSource(replica)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (DataSource dataSource : List.of(primary, replica)) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.update("delete from reservations");
+            jdbc.update("delete from room_reservation_versions");
+        }
+        index.clear();
+    }
+
+    @Test
+    @DisplayName("Should write to the primary and serve read-only lists from the replica")
+    void testRoutesReadsToReplica() {
+        service.createReservation(new CreateReservationRequest("ROOM1", START, START.plusHours(1), "first"));
+
+        assertThat(count(primary)).isEqualTo(1);
+        assertThat(count(replica)).isZero();
+        ReservationPage page = service.getReservationsByRoom("ROOM1", null, null, null, 10);
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read the writer's own changes from the primary during the sticky window")
+    void testReadYourWrites() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+
+        service.createReservation(new CreateReservationRequest("ROOM1", START, START.plusHours(1), "first"));
+
+        ReservationPage page = service.getReservationsByRoom("ROOM1", null, null, null, 10);
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getVersion()).isEqualTo(1);
+
+        // Muut käyttäjät lukevat edelleen replikasta
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+        assertThat(service.getReservationsByRoom("ROOM1", null, null, null, 10).getItems()).isEmpty();
+    }
+
+    private static int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select count(*) from reservations", Integer.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.backend.config;
 
 import com.example.backend.security.AuthTokenFilter;
+import com.example.backend.security.RateLimitFilter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,10 +33,13 @@ class SecurityConfigTest {
     @Mock
     private AuthTokenFilter authTokenFilter;
 
+    @Mock
+    private RateLimitFilter rateLimitFilter;
+
     @Test
     @DisplayName("Should return password encoder successfully")
     void testPasswordEncoder() {
-        PasswordEncoder result = instance.passwordEncoder();
+        PasswordEncoder result = instance.passwordEncoder(10);
         assertThat(result).isNotNull();
     }
 
@@ -48,6 +52,8 @@ class SecurityConfigTest {
         when(httpSecurity.authorizeHttpRequests(any())).thenReturn(httpSecurity);
         when(httpSecurity.addFilterBefore(any(AuthTokenFilter.class), eq(UsernamePasswordAuthenticationFilter.class)))
                 .thenReturn(httpSecurity);
+        when(httpSecurity.addFilterAfter(any(RateLimitFilter.class), eq(AuthTokenFilter.class)))
+                .thenReturn(httpSecurity);
 
         DefaultSecurityFilterChain mockChain = mock(DefaultSecurityFilterChain.class);
         when(httpSecurity.build()).thenReturn(mockChain);
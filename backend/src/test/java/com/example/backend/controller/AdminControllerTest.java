@@ -4,6 +4,7 @@ import com.example.backend.dto.request.EmailChangeRequest;
 import com.example.backend.dto.request.RoomCapacityChangeRequest;
 import com.example.backend.dto.request.RoomRequest;
 import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.dto.response.UserPage;
 import com.example.backend.dto.response.UserResponse;
 import com.example.backend.service.AdminService;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -58,6 +60,17 @@ class AdminControllerTest {
         roomRequest.setLocation("Floor 1");
     }
 
+    @Test
+    void getAllUsers_ShouldReturnPageWithNextCursorHeader() {
+        when(adminService.getUsers(null, "test", 1)).thenReturn(new UserPage(List.of(userResponse), "1"));
+
+        ResponseEntity<List<UserResponse>> result = adminController.getAllUsers(null, "test", 1);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(List.of(userResponse), result.getBody());
+        assertEquals("1", result.getHeaders().getFirst(ReservationController.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void getUserById_ShouldReturnUserResponse() {
         when(adminService.getUserById(anyLong())).thenReturn(userResponse);
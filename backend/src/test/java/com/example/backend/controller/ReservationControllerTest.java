@@ -1,8 +1,15 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.request.BatchReservationRequest;
 import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.dto.response.BatchItemResult;
+import com.example.backend.dto.response.BatchReservationResponse;
+import com.example.backend.dto.response.ReservationPage;
 import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.service.ReservationEventHub;
+import com.example.backend.service.ReservationExportService;
 import com.example.backend.service.ReservationService;
+import com.example.backend.service.RoomVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +24,11 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,6 +38,15 @@ class ReservationControllerTest {
     @Mock
     private ReservationService reservationService;
 
+    @Mock
+    private ReservationExportService exportService;
+
+    @Mock
+    private RoomVersions versions;
+
+    @Mock
+    private ReservationEventHub eventHub;
+
     @InjectMocks
     private ReservationController reservationController;
 
@@ -92,11 +111,79 @@ class ReservationControllerTest {
 
     @Test
     void getByRoom_ShouldReturnReservationList() {
-        when(reservationService.getReservationsByRoom("ROOM1")).thenReturn(List.of(response));
+        when(reservationService.getReservationsByRoom("ROOM1", null, null, null, 100))
+                .thenReturn(new ReservationPage(List.of(response), null, 0));
 
-        ResponseEntity<List<ReservationResponse>> result = reservationController.getByRoom("ROOM1");
+        ResponseEntity<List<ReservationResponse>> result = reservationController.getByRoom(
+                "ROOM1", null, null, null, 100, null);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals(1, result.getBody().size());
+        assertNull(result.getHeaders().getFirst(ReservationController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getByRoom_ShouldExposeNextCursorHeader() {
+        LocalDateTime from = LocalDateTime.now();
+        when(reservationService.getReservationsByRoom("ROOM1", from, null, "abc", 1))
+                .thenReturn(new ReservationPage(List.of(response), "next", 0));
+
+        ResponseEntity<List<ReservationResponse>> result = reservationController.getByRoom(
+                "ROOM1", from, null, "abc", 1, null);
+
+        assertEquals("next", result.getHeaders().getFirst(ReservationController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getByRoom_ShouldReturnEtagOfRoomVersion() {
+        when(versions.current("ROOM1")).thenReturn(7L);
+        when(reservationService.getReservationsByRoom("ROOM1", null, null, null, 100))
+                .thenReturn(new ReservationPage(List.of(response), null, 7));
+
+        ResponseEntity<List<ReservationResponse>> result = reservationController.getByRoom(
+                "ROOM1", null, null, null, 100, "\"6\"");
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"7\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void getByRoom_ShouldTagPageReadFromLaggingReplicaWithItsOwnVersion() {
+        when(versions.current("ROOM1")).thenReturn(7L);
+        when(reservationService.getReservationsByRoom("ROOM1", null, null, null, 100))
+                .thenReturn(new ReservationPage(List.of(response), null, 6));
+
+        ResponseEntity<List<ReservationResponse>> result = reservationController.getByRoom(
+                "ROOM1", null, null, null, 100, null);
+
+        assertEquals("\"6\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void getByRoom_ShouldReturnNotModifiedWithoutQuerying() {
+        when(versions.current("ROOM1")).thenReturn(7L);
+
+        ResponseEntity<List<ReservationResponse>> result = reservationController.getByRoom(
+                "ROOM1", null, null, null, 100, "\"5\", W/\"7\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+        verify(reservationService, never()).getReservationsByRoom(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void createBatch_ShouldMapOutcomeToStatus() {
+        BatchReservationRequest batch = new BatchReservationRequest(
+                BatchReservationRequest.Mode.BEST_EFFORT, List.of(request, request));
+        BatchItemResult created = new BatchItemResult(0, BatchItemResult.Status.CREATED, response, null);
+        BatchItemResult conflict = new BatchItemResult(1, BatchItemResult.Status.CONFLICT, null, "varattu");
+        when(reservationService.createReservations(batch.getReservations(), BatchReservationRequest.Mode.BEST_EFFORT))
+                .thenReturn(new BatchReservationResponse(BatchReservationRequest.Mode.BEST_EFFORT, List.of(created, created)))
+                .thenReturn(new BatchReservationResponse(BatchReservationRequest.Mode.BEST_EFFORT, List.of(created, conflict)))
+                .thenReturn(new BatchReservationResponse(BatchReservationRequest.Mode.BEST_EFFORT, List.of(conflict)));
+
+        assertEquals(HttpStatus.CREATED, reservationController.createBatch(batch).getStatusCode());
+        assertEquals(HttpStatus.OK, reservationController.createBatch(batch).getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, reservationController.createBatch(batch).getStatusCode());
     }
 }
@@ -0,0 +1,118 @@
+package com.example.backend.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReservationJournalTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2030, 1, 1, 11, 0, 30, 500_000_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendedRecordsReplayWithAllFields() throws IOException {
+        UUID id = UUID.randomUUID();
+        try (ReservationJournal journal = ReservationJournal.open(dir, 1 << 16, 0)) {
+            assertEquals(1, journal.append(JournalRecord.Op.CREATED, id, "room-1", START, END, "matti"));
+            assertEquals(2, journal.append(JournalRecord.Op.DELETED, id, "Neuvotteluhuone Ä", START, END, null));
+
+            List<JournalRecord> records = new ArrayList<>();
+            assertEquals(3, journal.replay(1, records::add));
+
+            assertEquals(2, records.size());
+            JournalRecord created = records.get(0);
+            assertEquals(1, created.getSequence());
+            assertEquals(JournalRecord.Op.CREATED, created.getOp());
+            assertEquals(id, created.getReservationId());
+            assertEquals("room-1", created.getRoomId());
+            assertEquals(START, created.getStartTime());
+            assertEquals(END, created.getEndTime());
+            assertEquals("matti", created.getUser());
+            assertFalse(created.isTruncated());
+
+            JournalRecord deleted = records.get(1);
+            assertEquals(JournalRecord.Op.DELETED, deleted.getOp());
+            assertEquals("Neuvotteluhuone Ä", deleted.getRoomId());
+            assertNull(deleted.getUser());
+        }
+    }
+
+    @Test
+    void tooLongValuesAreTruncatedAndFlagged() throws IOException {
+        try (ReservationJournal journal = ReservationJournal.open(dir, 1 << 16, 0)) {
+            journal.append(JournalRecord.Op.CREATED, UUID.randomUUID(), "ä".repeat(40), START, END, "user");
+
+            List<JournalRecord> records = new ArrayList<>();
+            journal.replay(1, records::add);
+
+            // 64 tavua = 32 kaksitavuista merkkiä; merkkiä ei katkaista kesken
+            assertEquals("ä".repeat(32), records.get(0).getRoomId());
+            assertTrue(records.get(0).isTruncated());
+        }
+    }
+
+    @Test
+    void segmentsRollAndReplayStartsFromAnySequence() throws IOException {
+        try (ReservationJournal journal = ReservationJournal.open(dir, 3L * ReservationJournal.RECORD_SIZE, 2)) {
+            for (int i = 0; i < 8; i++) {
+                journal.append(JournalRecord.Op.UPDATED, UUID.randomUUID(), "room-" + i, START, END, "user");
+            }
+
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(3, files.count());
+            }
+
+            List<JournalRecord> records = new ArrayList<>();
+            assertEquals(9, journal.replay(3, records::add));
+            assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L), records.stream().map(JournalRecord::getSequence).toList());
+            assertEquals("room-2", records.get(0).getRoomId());
+        }
+    }
+
+    @Test
+    void reopenContinuesAfterLastValidRecordAndOverwritesTornRecord() throws IOException {
+        try (ReservationJournal journal = ReservationJournal.open(dir, 1 << 16, 1)) {
+            journal.append(JournalRecord.Op.CREATED, UUID.randomUUID(), "room-1", START, END, "user");
+            journal.append(JournalRecord.Op.CREATED, UUID.randomUUID(), "room-2", START, END, "user");
+        }
+        corruptRecord(2);
+
+        try (ReservationJournal journal = ReservationJournal.open(dir, 1 << 16, 1)) {
+            assertEquals(2, journal.nextSequence());
+            assertEquals(2, journal.append(JournalRecord.Op.CREATED, UUID.randomUUID(), "room-3", START, END, "user"));
+
+            List<JournalRecord> records = new ArrayList<>();
+            journal.replay(1, records::add);
+            assertEquals(List.of("room-1", "room-3"), records.stream().map(JournalRecord::getRoomId).toList());
+        }
+    }
+
+    private void corruptRecord(long sequence) throws IOException {
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            long crcOffset = (sequence - 1) * ReservationJournal.RECORD_SIZE + ReservationJournal.RECORD_SIZE - 4;
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 0 }), crcOffset);
+        }
+    }
+}
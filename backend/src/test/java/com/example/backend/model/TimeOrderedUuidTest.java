@@ -0,0 +1,36 @@
+package com.example.backend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    @DisplayName("Should produce version 7 identifiers with the millisecond timestamp")
+    void testLayout() {
+        // Myöhempi kuin muiden testien aikaleimat, koska laskuri ei koskaan palaa taaksepäin
+        long later = System.currentTimeMillis() + 3_600_000;
+        UUID uuid = TimeOrderedUuid.generate(later);
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuid.timestampOf(uuid)).isEqualTo(later);
+    }
+
+    @Test
+    @DisplayName("Should keep identifiers strictly increasing within the same millisecond")
+    void testMonotonic() {
+        long now = System.currentTimeMillis() + 120_000;
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(TimeOrderedUuid.generate(now).toString());
+        }
+
+        // Merkkijonojärjestys vastaa tietokannan tavuittaista uuid-järjestystä
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Reservation;
+import com.example.backend.model.ReservationSeries;
+import com.example.backend.model.Room;
+import com.example.backend.model.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tarkistaa EXPLAIN-tulosteesta, että repositorioiden kyselyt käyttävät Flyway-migraatioiden
+ * indeksejä (H2-testikanta, skeema db/migration/common + db/migration/h2). Selitettävä SQL on
+ * Hibernaten repositorion metodista tuottama lause, joten kyselyn muutos näkyy testissä.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.backend.repository.QueryPlanTest$CapturedSql")
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationSeriesRepository seriesRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = BASE.plusHours(i);
+            reservations.add(new Reservation("ROOM" + (i % 20), start, start.plusMinutes(30), "user" + (i % 50)));
+        }
+        reservationRepository.saveAll(reservations);
+        for (int i = 0; i < 50; i++) {
+            Room room = new Room("room-" + i, "Huone " + i, 2 + i % 10);
+            room.setIsActive(i % 5 != 0);
+            roomRepository.save(room);
+        }
+        ReservationSeries series = new ReservationSeries();
+        series.setRoomId("ROOM1");
+        series.setStartTime(BASE);
+        series.setEndTime(BASE.plusHours(1));
+        series.setUser("user");
+        series.setFrequency(ReservationSeries.Frequency.WEEKLY);
+        series.setOccurrenceCount(4);
+        seriesRepository.save(series);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            users.add(new User("user" + i + "@example.com", "hash", "User " + i));
+        }
+        userRepository.saveAll(users);
+        reservationRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Should page a room's window from the window start, not the room's history")
+    void testFindWindowAfter() {
+        LocalDateTime to = BASE.plusDays(30);
+        LocalDateTime minStart = BASE.minusDays(7);
+        LocalDateTime afterStart = LocalDateTime.of(1970, 1, 1, 0, 0);
+        UUID afterId = new UUID(0L, 0L);
+
+        String plan = planOf(() -> reservationRepository.findWindowAfter(
+                        "ROOM1", BASE, to, minStart, afterStart, afterId, PageRequest.of(0, 10)),
+                "ROOM1", minStart, to, BASE, afterStart, afterStart, afterId, 0, 10);
+
+        // Indeksihaku ei saa alkaa huoneen historian alusta: H2 hakee (room_id, end_time) -indeksistä
+        // hetkestä from (?4) alkaen ja rajaa minStart-ehdon (?2) indeksin sisällä
+        String indexCondition = plan.substring(plan.indexOf("/*"), plan.indexOf("*/"));
+        assertThat(indexCondition).contains("PUBLIC.IDX_RESERVATIONS_ROOM_END:");
+        assertThat(indexCondition).contains("ROOM_ID = ?1", "END_TIME > ?4", "START_TIME >= ?2");
+    }
+
+    @Test
+    @DisplayName("Should stream exports through the index of each filter")
+    void testExport() {
+        LocalDateTime to = BASE.plusDays(1);
+
+        assertThat(planOf(() -> consume(reservationRepository.streamForExport(BASE, to)), to, BASE))
+                .contains("PUBLIC.IDX_RESERVATIONS_START:");
+        assertThat(planOf(() -> consume(reservationRepository.streamForExportByRoom(BASE, to, "ROOM1", "user7")),
+                "ROOM1", to, BASE, "user7", "user7"))
+                .contains("PUBLIC.IDX_RESERVATIONS_ROOM_START:");
+        assertThat(planOf(() -> consume(reservationRepository.streamForExportByUser(BASE, to, "user7")),
+                "user7", to, BASE))
+                .contains("PUBLIC.IDX_RESERVATIONS_USERNAME_START:");
+    }
+
+    @Test
+    @DisplayName("Should look up rooms and series through their indexes")
+    void testRoomAndSeriesLookups() {
+        assertThat(planOf(() -> roomRepository.findByIsActiveTrue()))
+                .contains("PUBLIC.IDX_ROOMS_ACTIVE_CAPACITY:");
+        assertThat(planOf(() -> roomRepository.findByName("Huone 3"), "Huone 3"))
+                .contains("PUBLIC.IDX_ROOMS_NAME:");
+        assertThat(planOf(() -> seriesRepository.findByRoomId("ROOM1"), "ROOM1"))
+                .contains("PUBLIC.IDX_RESERVATION_SERIES_ROOM:");
+    }
+
+    @Test
+    @DisplayName("Should read single reservations by key and load the index with one scan")
+    void testReservationLookups() {
+        UUID id = reservationRepository.findAll().get(0).getId();
+
+        assertThat(planOf(() -> reservationRepository.findResponseById(id), id))
+                .contains("PUBLIC.PRIMARY_KEY_", "ID = ?1");
+        // Indeksin lataus käynnistyksessä lukee tarkoituksella koko taulun, ilman järjestystä
+        assertThat(planOf(() -> reservationRepository.findAllSlots()))
+                .contains("PUBLIC.RESERVATIONS.tableScan")
+                .doesNotContain("ORDER BY");
+    }
+
+    @Test
+    @DisplayName("Should list users along the primary key and filter them through the email index")
+    void testUserListing() {
+        // Suodattamaton sivu ja vienti: pääavaimen väli valmiissa järjestyksessä, ei lajittelua
+        assertThat(planOf(() -> userRepository.findPageAfter(10, PageRequest.of(0, 10)), 10L, 0, 10))
+                .contains("PUBLIC.PRIMARY_KEY_", "ID > ?1", "/* index sorted */");
+        assertThat(planOf(() -> consume(userRepository.streamAll())))
+                .contains("PUBLIC.PRIMARY_KEY_", "/* index sorted */");
+
+        // Suodatettu vienti: etuliite rajataan sähköposti-indeksin väliksi
+        assertThat(planOf(() -> consume(userRepository.streamByEmail("user17%")), "user17%"))
+                .contains("PUBLIC.UK_USERS_EMAIL_INDEX_", "EMAIL >= 'user17'", "EMAIL < 'user18'");
+        // Suodatetulla sivulla H2 kulkee pääavainta kursorista ja lopettaa, kun sivu täyttyy
+        // (PostgreSQL voi valita idx_users_email_pattern-välin); kumpikaan ei lue koko taulua
+        assertThat(planOf(() -> userRepository.findPageByEmailAfter(0, "user17%", PageRequest.of(0, 10)),
+                "user17%", 0L, 0, 10))
+                .contains("ID > ?2", "/* index sorted */")
+                .doesNotContain("tableScan");
+    }
+
+    /**
+     * Ajaa repositorion kyselyn, kaappaa Hibernaten siitä tuottaman SQL:n ja palauttaa sen
+     * EXPLAIN-tulosteen. Parametrit annetaan SQL:n ?-merkkien järjestyksessä.
+     */
+    private String planOf(Runnable query, Object... parameters) {
+        CapturedSql.STATEMENTS.clear();
+        query.run();
+        assertThat(CapturedSql.STATEMENTS).hasSize(1);
+        String sql = CapturedSql.STATEMENTS.get(0);
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(parameters.length);
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    private static void consume(Stream<?> rows) {
+        try (rows) {
+            rows.forEach(row -> { });
+        }
+    }
+
+    /**
+     * Tallentaa Hibernaten lähettämät SQL-lauseet (hibernate.session_factory.statement_inspector)
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.model.Reservation;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ReservationRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 8, 0);
+    private static final LocalDateTime MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private ReservationRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            repository.save(new Reservation("ROOM1", BASE.plusHours(i), BASE.plusHours(i + 1), "user"));
+        }
+        repository.save(new Reservation("ROOM2", BASE, BASE.plusHours(1), "user"));
+    }
+
+    @Test
+    @DisplayName("Should return reservations intersecting the window in keyset order")
+    void testFindWindowAfter() {
+        List<ReservationResponse> page = repository.findWindowAfter(
+                "ROOM1", BASE.plusMinutes(150), BASE.plusHours(6), BASE.plusMinutes(90), MIN, new UUID(0L, 0L),
+                PageRequest.of(0, 2));
+
+        assertThat(page).extracting(ReservationResponse::getStartTime)
+                .containsExactly(BASE.plusHours(2), BASE.plusHours(3));
+
+        ReservationResponse last = page.get(1);
+        List<ReservationResponse> next = repository.findWindowAfter(
+                "ROOM1", BASE.plusMinutes(150), BASE.plusHours(6), last.getStartTime(), last.getStartTime(),
+                UUID.fromString(last.getId()),
+                PageRequest.of(0, 10));
+
+        assertThat(next).extracting(ReservationResponse::getStartTime)
+                .containsExactly(BASE.plusHours(4), BASE.plusHours(5));
+    }
+
+    @Test
+    @DisplayName("Should read responses without attaching entities to the persistence context")
+    void testProjectionSkipsPersistenceContext() {
+        Reservation saved = repository.save(new Reservation("ROOM3", BASE, BASE.plusHours(1), "anna"));
+        entityManager.flush();
+        entityManager.clear();
+
+        ReservationResponse response = repository.findResponseById(saved.getId()).orElseThrow();
+        repository.findWindowAfter("ROOM1", MIN, BASE.plusDays(1), MIN, MIN, new UUID(0L, 0L),
+                PageRequest.of(0, 10));
+
+        assertThat(response.getId()).isEqualTo(saved.getId().toString());
+        assertThat(response.getUser()).isEqualTo("anna");
+        assertThat(response.getCreatedAt()).isNotNull();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(repository.findResponseById(new UUID(0L, 1L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load slots of every room")
+    void testFindAllSlots() {
+        assertThat(repository.findAllSlots()).hasSize(11)
+                .allSatisfy(slot -> assertThat(slot.getRoomId()).isNotNull());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.backend.repository;
+
+import com.example.backend.config.SecondLevelCacheMetrics;
+import com.example.backend.model.Room;
+import com.example.backend.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Toistuvat haut ID:llä ja sähköpostilla palvellaan toisen tason välimuistista ilman SQL:ää.
+ * Jokainen repositoriokutsu on oma transaktionsa (oma persistenssikonteksti).
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ SecondLevelCacheMetrics.class, SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated room lookups by id without SQL")
+    void testRoomById() {
+        Room room = new Room();
+        room.setId("room-cache");
+        room.setName("Neuvotteluhuone");
+        room.setCapacity(6);
+        room.setIsActive(true);
+        roomRepository.save(room);
+
+        assertThat(statements(() -> roomRepository.findById("room-cache"))).isLessThanOrEqualTo(1);
+        assertThat(statements(() -> roomRepository.findById("room-cache"))).isZero();
+        assertThat(roomRepository.findById("room-cache")).get().extracting(Room::getName).isEqualTo("Neuvotteluhuone");
+    }
+
+    @Test
+    @DisplayName("Should serve repeated user lookups by id and email without SQL")
+    void testUserByIdAndEmail() {
+        Long id = userRepository.save(new User("anna@example.com", "hash", "Anna")).getId();
+
+        userRepository.findByEmail("anna@example.com");
+        assertThat(statements(() -> userRepository.findByEmail("anna@example.com"))).isZero();
+        assertThat(statements(() -> userRepository.findById(id))).isZero();
+        assertThat(userRepository.findByEmail("anna@example.com")).get().extracting(User::getId).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("Should follow an email change made through the repository")
+    void testEmailChange() {
+        User user = userRepository.save(new User("anna@example.com", "hash", "Anna"));
+        userRepository.findByEmail("anna@example.com");
+
+        user.setEmail("anna.uusi@example.com");
+        userRepository.save(user);
+
+        assertThat(userRepository.findByEmail("anna@example.com")).isEmpty();
+        assertThat(userRepository.findByEmail("anna.uusi@example.com")).get()
+                .extracting(User::getId).isEqualTo(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should publish region statistics as cache metrics")
+    void testMetrics() {
+        Long id = userRepository.save(new User("anna@example.com", "hash", "Anna")).getId();
+        userRepository.findById(id);
+        userRepository.findById(id);
+
+        assertThat(registry.get("cache.gets").tag("cache", User.CACHE_REGION).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.find("cache.gets").tag("cache", Room.CACHE_REGION).functionCounters()).isNotEmpty();
+    }
+
+    private long statements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
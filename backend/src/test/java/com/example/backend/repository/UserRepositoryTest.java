@@ -0,0 +1,80 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.User;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.save(new User("anna@example.com", "hash", "Anna"));
+        repository.save(new User("anni@example.com", "hash", "Anni"));
+        repository.save(new User("a_b@example.com", "hash", "AB"));
+        repository.save(new User("axb@example.com", "hash", "AXB"));
+        repository.save(new User("ville@example.com", "hash", "Ville"));
+    }
+
+    @Test
+    @DisplayName("Should page users in id order after the cursor")
+    void testFindPageAfter() {
+        List<UserProjection> first = repository.findPageAfter(0, PageRequest.of(0, 2));
+        List<UserProjection> second = repository.findPageAfter(first.get(1).getId(), PageRequest.of(0, 10));
+
+        assertThat(first).extracting(UserProjection::getEmail)
+                .containsExactly("anna@example.com", "anni@example.com");
+        assertThat(second).extracting(UserProjection::getEmail)
+                .containsExactly("a_b@example.com", "axb@example.com", "ville@example.com");
+    }
+
+    @Test
+    @DisplayName("Should filter by email prefix with escaped wildcards")
+    void testEmailPrefix() {
+        assertThat(repository.findPageByEmailAfter(0, "ann%", PageRequest.of(0, 10)))
+                .extracting(UserProjection::getDisplayName).containsExactly("Anna", "Anni");
+        assertThat(repository.findPageByEmailAfter(0, "a\\_%", PageRequest.of(0, 10)))
+                .extracting(UserProjection::getDisplayName).containsExactly("AB");
+    }
+
+    @Test
+    @DisplayName("Should continue a filtered page after the cursor")
+    void testEmailPrefixAfterCursor() {
+        List<UserProjection> first = repository.findPageByEmailAfter(0, "ann%", PageRequest.of(0, 1));
+
+        assertThat(repository.findPageByEmailAfter(first.get(0).getId(), "ann%", PageRequest.of(0, 10)))
+                .extracting(UserProjection::getDisplayName).containsExactly("Anni");
+    }
+
+    @Test
+    @DisplayName("Should stream every user in id order")
+    void testStreamAll() {
+        try (Stream<UserProjection> users = repository.streamAll()) {
+            assertThat(users.toList()).extracting(UserProjection::getDisplayName)
+                    .containsExactly("Anna", "Anni", "AB", "AXB", "Ville");
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream only the listing columns")
+    void testStreamByEmail() {
+        try (Stream<UserProjection> users = repository.streamByEmail("ville%")) {
+            assertThat(users.toList()).singleElement().satisfies(user -> {
+                assertThat(user.getEmail()).isEqualTo("ville@example.com");
+                assertThat(user.getCreatedAt()).isNotNull();
+            });
+        }
+    }
+}
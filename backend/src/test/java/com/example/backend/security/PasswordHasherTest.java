@@ -0,0 +1,109 @@
+package com.example.backend.security;
+
+import com.example.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and record queue and run time")
+    void testEncodeAndMatch() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), registry, 4, 1, 4, 5000);
+
+        String hash = hasher.encode("secret");
+
+        assertThat(hasher.matches("secret", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+        assertThat(registry.get("auth.hashing.queue").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.hashing.run").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the hashing queue is full")
+    void testRejectsWhenQueueFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = new PasswordHasher(new BlockingEncoder(release), registry, 10, 1, 1, 5000);
+
+        // Yksi tiivistys ajossa ja yksi jonossa
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hasher.queueDepth() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(hasher.queueDepth()).isEqualTo(1);
+
+        assertThatThrownBy(() -> hasher.encode("c")).isInstanceOf(ServiceBusyException.class);
+        assertThat(registry.get("auth.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+    }
+
+    @Test
+    @DisplayName("Should give up waiting after the timeout")
+    void testTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = new PasswordHasher(new BlockingEncoder(release), registry, 10, 1, 1, 50);
+
+        assertThatThrownBy(() -> hasher.encode("a")).isInstanceOf(ServiceBusyException.class);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should detect hashes made with a different bcrypt cost")
+    void testNeedsRehash() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), registry, 5, 1, 1, 5000);
+
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+        assertThat(hasher.needsRehash("$2a$12$abcdefghijklmnopqrstuv")).isTrue();
+        assertThat(hasher.needsRehash("plain")).isFalse();
+        assertThat(hasher.needsRehash(null)).isFalse();
+    }
+
+    private static final class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch release;
+
+        BlockingEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
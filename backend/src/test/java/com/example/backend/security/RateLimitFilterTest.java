@@ -0,0 +1,78 @@
+package com.example.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new ObjectMapper().findAndRegisterModules(), registry, true, List.of(
+                new RateLimitFilter.Route("read", Set.of("GET"), "/api/**", new TokenBucketRateLimiter(1, 0.1, 100))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the budget is spent")
+    void testRejects() throws Exception {
+        assertThat(get("/api/reservations/room-1", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = get("/api/reservations/room-1", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(rejected.getContentAsString()).contains("Liikaa pyyntöjä");
+        assertThat(registry.get("http.rate.limit.rejected").tag("route", "read").counter().count()).isEqualTo(1);
+
+        // Eri IP, eri ämpäri
+        assertThat(get("/api/reservations/room-1", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should key authenticated requests by user instead of IP")
+    void testKeyByPrincipal() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("anna@example.com", null, List.of()));
+        assertThat(get("/api/reservations/room-1", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(get("/api/reservations/room-1", "10.0.0.2").getStatus()).isEqualTo(429);
+
+        SecurityContextHolder.clearContext();
+        assertThat(get("/api/reservations/room-1", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not limit routes without a budget")
+    void testUnmatchedRoute() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(get("/actuator/health", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse get(String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and report the wait for the next token")
+    void testBurst() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, 10, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        // Toisen avaimen ämpäri on oma
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void testRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, 10, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the bucket map bounded, evicting idle buckets first")
+    void testEviction() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, 4, now::get);
+
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("idle-1");
+        limiter.tryAcquire("idle-2");
+        limiter.tryAcquire("idle-3");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        limiter.tryAcquire("new");
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(4);
+        // Tyhjentynyt ämpäri säilyi, joten raja on yhä voimassa
+        assertThat(limiter.tryAcquire("busy")).isZero();
+        assertThat(limiter.tryAcquire("busy")).isPositive();
+    }
+}
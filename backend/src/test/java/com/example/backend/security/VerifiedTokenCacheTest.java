@@ -0,0 +1,108 @@
+package com.example.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class VerifiedTokenCacheTest {
+
+    private JwtUtils jwtUtils;
+    private SimpleMeterRegistry registry;
+    private MutableClock clock;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = spy(new JwtUtils());
+        ReflectionTestUtils.setField(jwtUtils, "secret", "test-secret-key-with-at-least-32-characters");
+        ReflectionTestUtils.setField(jwtUtils, "expiration", 60L);
+        registry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.now());
+        cache = new VerifiedTokenCache(jwtUtils, registry, 3, clock);
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeats from the cache")
+    void testHit() {
+        String token = jwtUtils.generateToken("user@example.com");
+
+        assertThat(cache.resolveUsername(token)).isEqualTo("user@example.com");
+        assertThat(cache.resolveUsername(token)).isEqualTo("user@example.com");
+        assertThat(cache.resolveUsername(token)).isEqualTo("user@example.com");
+
+        verify(jwtUtils, times(1)).verifyToken(token);
+        assertThat(registry.get("auth.token.cache").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(registry.get("auth.token.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("auth.token.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache invalid tokens")
+    void testInvalidToken() {
+        String token = jwtUtils.generateToken("user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(cache.resolveUsername(tampered)).isNull();
+        assertThat(cache.resolveUsername("not-a-jwt")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should re-verify a cached token after it expires")
+    void testExpiry() {
+        String token = jwtUtils.generateToken("user@example.com");
+        assertThat(cache.resolveUsername(token)).isEqualTo("user@example.com");
+
+        clock.advance(Duration.ofHours(2));
+
+        // Token on oikeasti vielä voimassa, mutta välimuisti ei saa luottaa vanhentuneeseen merkintään
+        cache.resolveUsername(token);
+        verify(jwtUtils, times(2)).verifyToken(token);
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured size")
+    void testBounded() {
+        for (int i = 0; i < 10; i++) {
+            cache.resolveUsername(jwtUtils.generateToken("user" + i + "@example.com"));
+            assertThat(cache.size()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
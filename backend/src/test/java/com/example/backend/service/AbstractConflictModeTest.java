@@ -0,0 +1,126 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.request.BatchReservationRequest;
+import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.dto.response.BatchItemResult;
+import com.example.backend.dto.response.BatchReservationResponse;
+import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.exception.RoomAlreadyBookedException;
+import com.example.backend.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sama päällekkäisyysskenaario kummassakin app.reservation.conflict-mode -tilassa H2:ta vasten.
+ * Testit eivät käytä testitransaktiota, jotta tallennukset (ja rajoitteet) todella ajetaan.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ ReservationService.class, ReservationIndex.class, RoomLocks.class, RoomVersions.class,
+        ServiceMetrics.class, SimpleMeterRegistry.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class AbstractConflictModeTest {
+
+    protected static final LocalDateTime START = LocalDateTime.now().plusDays(7).withNano(0);
+
+    @Autowired
+    protected ReservationService service;
+
+    @Autowired
+    protected ReservationRepository repository;
+
+    @Autowired
+    protected ReservationIndex index;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        index.clear();
+    }
+
+    @Test
+    @DisplayName("Should reject an overlapping booking and keep the first one")
+    void testRejectsOverlap() {
+        ReservationResponse first = service.createReservation(
+                new CreateReservationRequest("ROOM1", START, START.plusHours(1), "first"));
+        CreateReservationRequest overlapping = new CreateReservationRequest(
+                "ROOM1", START.plusMinutes(30), START.plusMinutes(90), "second");
+
+        assertThatThrownBy(() -> service.createReservation(overlapping))
+                .isInstanceOf(RoomAlreadyBookedException.class);
+        assertThat(repository.count()).isEqualTo(1);
+
+        // Varaus saa leikata oman aiemman aikansa
+        ReservationResponse moved = service.updateReservation(first.getId(), overlapping);
+        assertThat(moved.getStartTime()).isEqualTo(overlapping.getStartTime());
+    }
+
+    @Test
+    @DisplayName("Should accept adjacent bookings and other rooms")
+    void testAcceptsAdjacent() {
+        service.createReservation(new CreateReservationRequest("ROOM1", START, START.plusHours(1), "first"));
+        service.createReservation(new CreateReservationRequest("ROOM1", START.plusHours(1), START.plusHours(2), "next"));
+        service.createReservation(new CreateReservationRequest("ROOM2", START, START.plusHours(1), "other"));
+
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should report per-item results for a best-effort batch")
+    void testBestEffortBatch() {
+        service.createReservation(new CreateReservationRequest("ROOM1", START, START.plusHours(1), "existing"));
+
+        BatchReservationResponse response = service.createReservations(batch(), BatchReservationRequest.Mode.BEST_EFFORT);
+
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus).containsExactly(
+                BatchItemResult.Status.CONFLICT,
+                BatchItemResult.Status.CREATED,
+                BatchItemResult.Status.CONFLICT,
+                BatchItemResult.Status.INVALID_TIME,
+                BatchItemResult.Status.CREATED);
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should insert nothing when an all-or-nothing batch has a conflict")
+    void testAllOrNothingBatch() {
+        service.createReservation(new CreateReservationRequest("ROOM1", START, START.plusHours(1), "existing"));
+
+        BatchReservationResponse response = service.createReservations(
+                batch(), BatchReservationRequest.Mode.ALL_OR_NOTHING);
+
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getResults()).extracting(BatchItemResult::getStatus)
+                .contains(BatchItemResult.Status.ABORTED);
+        assertThat(repository.count()).isEqualTo(1);
+
+        BatchReservationResponse valid = service.createReservations(
+                batch().subList(1, 2), BatchReservationRequest.Mode.ALL_OR_NOTHING);
+        assertThat(valid.getCreated()).isEqualTo(1);
+    }
+
+    /**
+     * Olemassa olevan kanssa päällekkäinen, kelvollinen, erän sisällä päällekkäinen,
+     * menneisyydessä alkava ja toisen huoneen varaus
+     */
+    private static List<CreateReservationRequest> batch() {
+        return List.of(
+                new CreateReservationRequest("ROOM1", START.plusMinutes(30), START.plusMinutes(90), "a"),
+                new CreateReservationRequest("ROOM1", START.plusHours(2), START.plusHours(3), "b"),
+                new CreateReservationRequest("ROOM1", START.plusMinutes(150), START.plusHours(4), "c"),
+                new CreateReservationRequest("ROOM1", START.minusYears(1), START.minusYears(1).plusHours(1), "d"),
+                new CreateReservationRequest("ROOM2", START, START.plusHours(1), "e"));
+    }
+}
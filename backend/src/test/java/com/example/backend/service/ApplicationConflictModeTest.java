@@ -0,0 +1,7 @@
+package com.example.backend.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "app.reservation.conflict-mode=application")
+class ApplicationConflictModeTest extends AbstractConflictModeTest {
+}
@@ -1,45 +1,136 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.request.LoginRequest;
+import com.example.backend.dto.request.RegisterRequest;
 import com.example.backend.dto.response.AuthResponse;
+import com.example.backend.exception.ReservationException;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.security.JwtUtils;
+import com.example.backend.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+@ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Spy
+    private ServiceMetrics metrics = new ServiceMetrics(registry);
+
     @InjectMocks
     private AuthService authService;
 
+    private User user;
+
     @BeforeEach
     void setUp() {
-        // Initialize test fixtures
+        user = new User("anna@example.com", "hash", "Anna");
+        user.setId(1L);
     }
 
     @Test
     @DisplayName("Should register successfully")
     void testRegister() {
         // Arrange
+        when(userRepository.existsByEmail("anna@example.com")).thenReturn(false);
+        when(passwordHasher.encode("secret")).thenReturn("hash");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(jwtUtils.generateToken("anna@example.com")).thenReturn("token");
 
         // Act
-        AuthResponse result = authService.register(null);
+        AuthResponse result = authService.register(new RegisterRequest("anna@example.com", "Anna", "secret"));
 
         // Assert
         assertThat(result).isNotNull();
+        assertThat(result.getToken()).isEqualTo("token");
+        assertThat(registry.get(AuthService.OPERATION_TIMER)
+                .tags("operation", "register", "outcome", ServiceMetrics.SUCCESS).timer().count()).isEqualTo(1);
     }
 
     @Test
     @DisplayName("Should login successfully")
     void testLogin() {
         // Arrange
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "hash")).thenReturn(true);
+        when(jwtUtils.generateToken("anna@example.com")).thenReturn("token");
 
         // Act
-        AuthResponse result = authService.login(null);
+        AuthResponse result = authService.login(new LoginRequest("anna@example.com", "secret"));
 
         // Assert
         assertThat(result).isNotNull();
+        assertThat(registry.get(AuthService.PASSWORD_VERIFY_TIMER).tag("outcome", "match").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject wrong password and record the outcome")
+    void testLoginWrongPassword() {
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("wrong", "hash")).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.login(new LoginRequest("anna@example.com", "wrong")))
+                .isInstanceOf(ReservationException.class);
+        verify(jwtUtils, never()).generateToken(any());
+        assertThat(registry.get(AuthService.PASSWORD_VERIFY_TIMER).tag("outcome", "mismatch").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get(AuthService.OPERATION_TIMER)
+                .tags("operation", "login", "outcome", ServiceMetrics.REJECTED).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rehash the password on login when the bcrypt cost has changed")
+    void testLoginRehashesOnCostChange() {
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("hash")).thenReturn(true);
+        when(passwordHasher.encode("secret")).thenReturn("rehashed");
+        when(jwtUtils.generateToken("anna@example.com")).thenReturn("token");
+
+        authService.login(new LoginRequest("anna@example.com", "secret"));
+
+        assertThat(user.getPassword()).isEqualTo("rehashed");
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    @DisplayName("Should log in without rehashing when the hashing pool is busy")
+    void testLoginSkipsRehashWhenBusy() {
+        when(userRepository.findByEmail("anna@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret", "hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("hash")).thenReturn(true);
+        when(passwordHasher.encode("secret")).thenThrow(new ServiceBusyException("busy"));
+        when(jwtUtils.generateToken("anna@example.com")).thenReturn("token");
+
+        AuthResponse result = authService.login(new LoginRequest("anna@example.com", "secret"));
+
+        assertThat(result.getToken()).isEqualTo("token");
+        assertThat(user.getPassword()).isEqualTo("hash");
+        verify(userRepository, never()).save(any(User.class));
     }
 }
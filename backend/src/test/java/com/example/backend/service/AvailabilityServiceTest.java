@@ -0,0 +1,95 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.model.ReservationSeries;
+import com.example.backend.model.ReservationSeries.Frequency;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private ReservationIndex index;
+    private AvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        RoomCatalogCache catalog = mock(RoomCatalogCache.class);
+        // Luettelo ei ole kapasiteettijärjestyksessä; palvelu järjestää tuloksen
+        when(catalog.getActiveRooms()).thenReturn(List.of(
+                room("R-TAMPERE", "Tampere", 20, "Tampere"),
+                room("R-FREE", "Vapaa", 12, "Helsinki"),
+                room("R-SMALL", "Pieni", 4, "Helsinki"),
+                room("R-BUSY", "Varattu", 10, "Helsinki"),
+                room("R-NOWHERE", "Sijainniton", 6, null)));
+        index = new ReservationIndex();
+        service = new AvailabilityService(catalog, index, mock(OccupancyCalendar.class));
+
+        index.put(UUID.randomUUID(), "R-BUSY", BASE.plusMinutes(30), BASE.plusHours(1));
+        // Päättyy juuri ikkunan alkaessa: ei estä
+        index.put(UUID.randomUUID(), "R-FREE", BASE.minusHours(1), BASE);
+    }
+
+    @Test
+    @DisplayName("Should return free active rooms with enough capacity")
+    void testFindAvailable() {
+        List<RoomResponse> rooms = service.findAvailableRooms(BASE, BASE.plusMinutes(90), 8, null);
+
+        assertThat(rooms).extracting(RoomResponse::getId).containsExactly("R-FREE", "R-TAMPERE");
+    }
+
+    @Test
+    @DisplayName("Should filter by location ignoring case")
+    void testFindAvailableByLocation() {
+        List<RoomResponse> rooms = service.findAvailableRooms(BASE, BASE.plusMinutes(90), 0, " HELSINKI ");
+
+        assertThat(rooms).extracting(RoomResponse::getId).containsExactly("R-SMALL", "R-FREE");
+    }
+
+    @Test
+    @DisplayName("Should treat a room as free outside its reservations")
+    void testFindAvailableOutsideReservation() {
+        List<RoomResponse> rooms = service.findAvailableRooms(BASE.plusHours(1), BASE.plusHours(2), 10, "helsinki");
+
+        assertThat(rooms).extracting(RoomResponse::getId).containsExactly("R-BUSY", "R-FREE");
+    }
+
+    @Test
+    @DisplayName("Should exclude rooms with a recurring occurrence in the window")
+    void testFindAvailableSkipsSeries() {
+        ReservationSeries series = new ReservationSeries();
+        series.setRoomId("R-TAMPERE");
+        series.setStartTime(BASE.minusDays(7));
+        series.setEndTime(BASE.minusDays(7).plusMinutes(15));
+        series.setUser("test-user");
+        series.setFrequency(Frequency.WEEKLY);
+        series.setIntervalCount(1);
+        series.setOccurrenceCount(4);
+        index.putSeries("R-TAMPERE", Recurrence.of(series));
+
+        List<RoomResponse> rooms = service.findAvailableRooms(BASE, BASE.plusMinutes(90), 8, null);
+
+        assertThat(rooms).extracting(RoomResponse::getId).containsExactly("R-FREE");
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted window")
+    void testFindAvailableInvalidWindow() {
+        assertThatThrownBy(() -> service.findAvailableRooms(BASE, BASE, 0, null))
+                .isInstanceOf(InvalidReservationTimeException.class);
+    }
+
+    private static RoomResponse room(String id, String name, int capacity, String location) {
+        return new RoomResponse(id, name, capacity, null, location, true, BASE, BASE);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Reservation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * H2:lla rajoitetta vastaa testien H2ReservationOverlapTrigger (db/migration/h2/V6__reservation_no_overlap.sql)
+ */
+@TestPropertySource(properties = "app.reservation.conflict-mode=database")
+class DatabaseConflictModeTest extends AbstractConflictModeTest {
+
+    @Test
+    @DisplayName("Should enforce the constraint even when the service is bypassed")
+    void testConstraintBypassingService() {
+        repository.save(new Reservation("ROOM1", START, START.plusHours(1), "first"));
+
+        assertThatThrownBy(() -> repository.save(
+                new Reservation("ROOM1", START.plusMinutes(59), START.plusHours(2), "second")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Reservation;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OccupancyCalendarTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    private ReservationIndex index;
+    private OccupancyCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReservationIndex();
+        calendar = new OccupancyCalendar(index, 15);
+    }
+
+    @Test
+    @DisplayName("Should mark every slot touched by a reservation")
+    void testOccupy() {
+        create("ROOM1", DAY.plusHours(10).plusMinutes(5), DAY.plusHours(10).plusMinutes(40));
+
+        assertThat(calendar.isSlotFree("ROOM1", DAY.plusHours(9).plusMinutes(59))).isTrue();
+        assertThat(calendar.isSlotFree("ROOM1", DAY.plusHours(10))).isFalse();
+        assertThat(calendar.isSlotFree("ROOM1", DAY.plusHours(10).plusMinutes(30))).isFalse();
+        assertThat(calendar.isSlotFree("ROOM1", DAY.plusHours(10).plusMinutes(45))).isTrue();
+        assertThat(calendar.isSlotFree("ROOM2", DAY.plusHours(10))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should list free slots across a day boundary")
+    void testFreeSlots() {
+        create("ROOM1", DAY.plusHours(23).plusMinutes(30), DAY.plusDays(1).plusMinutes(15));
+
+        List<LocalDateTime> free = calendar.freeSlots("ROOM1", DAY.plusHours(23), DAY.plusDays(1).plusMinutes(45));
+
+        assertThat(free).containsExactly(
+                DAY.plusHours(23), DAY.plusHours(23).plusMinutes(15),
+                DAY.plusDays(1).plusMinutes(15), DAY.plusDays(1).plusMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Should keep a slot shared with a neighbouring reservation after a delete")
+    void testReleaseSharedSlot() {
+        Reservation first = create("ROOM1", DAY.plusHours(10), DAY.plusHours(10).plusMinutes(5));
+        create("ROOM1", DAY.plusHours(10).plusMinutes(5), DAY.plusHours(10).plusMinutes(10));
+
+        delete(first);
+
+        assertThat(calendar.isSlotFree("ROOM1", DAY.plusHours(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should move a reservation between rooms and drop empty days")
+    void testUpdate() {
+        Reservation reservation = create("ROOM1", DAY.plusHours(8), DAY.plusHours(9));
+        assertThat(calendar.dayCount()).isEqualTo(1);
+
+        index.remove(reservation.getId());
+        LocalDateTime previousStart = reservation.getStartTime();
+        LocalDateTime previousEnd = reservation.getEndTime();
+        reservation.setRoomId("ROOM2");
+        index.put(reservation.getId(), "ROOM2", reservation.getStartTime(), reservation.getEndTime());
+        calendar.onReservationChanged(ReservationChangedEvent.updated(reservation, "ROOM1", previousStart, previousEnd));
+
+        assertThat(calendar.isFree("ROOM1", DAY, DAY.plusDays(1))).isTrue();
+        assertThat(calendar.isFree("ROOM2", DAY.plusHours(8), DAY.plusHours(9))).isFalse();
+        assertThat(calendar.dayCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should match the interval index for random reservations")
+    void testAgainstIndex() {
+        Random random = new Random(42);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(14 * 24 * 12) * 5L);
+            LocalDateTime end = start.plusMinutes(5 + random.nextInt(36) * 5L);
+            if (!index.hasReservationOverlap("ROOM1", start, end)) {
+                reservations.add(create("ROOM1", start, end));
+            }
+        }
+        for (int i = 0; i < reservations.size(); i += 3) {
+            delete(reservations.get(i));
+        }
+
+        for (LocalDateTime slot = DAY; slot.isBefore(DAY.plusDays(15)); slot = slot.plusMinutes(15)) {
+            boolean occupied = index.hasReservationOverlap("ROOM1", slot, slot.plusMinutes(15));
+            assertThat(calendar.isSlotFree("ROOM1", slot)).as("slot %s", slot).isEqualTo(!occupied);
+        }
+        // Muisti riippuu päivistä, ei varausten määrästä: kahden viikon kalenteri mahtuu 2 KiB:hen
+        assertThat(calendar.dayCount()).isBetween(14, 15);
+        assertThat(calendar.memoryFootprintBytes()).isLessThanOrEqualTo(2_048);
+    }
+
+    @Test
+    @DisplayName("Should reject slot lengths that do not divide a day")
+    void testInvalidSlotLength() {
+        assertThatThrownBy(() -> new OccupancyCalendar(index, 7))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Reservation create(String roomId, LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = new Reservation(roomId, start, end, "user");
+        index.put(reservation.getId(), roomId, start, end);
+        calendar.onReservationChanged(ReservationChangedEvent.created(reservation));
+        return reservation;
+    }
+
+    private void delete(Reservation reservation) {
+        index.remove(reservation.getId());
+        calendar.onReservationChanged(ReservationChangedEvent.deleted(reservation));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.model.ReservationSeries;
+import com.example.backend.model.ReservationSeries.Frequency;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @Test
+    @DisplayName("Should expand only the occurrences inside the queried window")
+    void testOccurrencesInWindow() {
+        Recurrence weekly = Recurrence.of(series(Frequency.WEEKLY, 1, null, 52));
+
+        List<Recurrence.Occurrence> occurrences = weekly
+                .occurrences(START.plusWeeks(10), START.plusWeeks(13))
+                .toList();
+
+        assertThat(occurrences).extracting(Recurrence.Occurrence::getIndex).containsExactly(10L, 11L, 12L);
+        assertThat(occurrences.get(0).getStart()).isEqualTo(START.plusWeeks(10));
+        assertThat(occurrences.get(0).getEnd()).isEqualTo(START.plusWeeks(10).plusMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Should include an occurrence that started before the window but ends inside it")
+    void testOccurrenceOverlappingWindowStart() {
+        Recurrence daily = Recurrence.of(series(Frequency.DAILY, 1, null, 30));
+
+        assertThat(daily.occurrences(START.plusDays(3).plusMinutes(10), START.plusDays(3).plusMinutes(20)))
+                .extracting(Recurrence.Occurrence::getIndex)
+                .containsExactly(3L);
+        // Päättymishetki ei leikkaa (puoliavoin väli)
+        assertThat(daily.overlaps(START.plusDays(3).plusMinutes(15), START.plusDays(3).plusHours(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop at the until date and honour the interval")
+    void testUntilAndInterval() {
+        Recurrence everyOtherDay = Recurrence.of(series(Frequency.DAILY, 2, START.plusDays(9), null));
+
+        assertThat(everyOtherDay.occurrenceCount()).isEqualTo(5);
+        assertThat(everyOtherDay.lastEnd()).isEqualTo(START.plusDays(8).plusMinutes(15));
+        assertThat(everyOtherDay.overlaps(START.plusDays(1), START.plusDays(1).plusHours(1))).isFalse();
+        assertThat(everyOtherDay.overlaps(START.plusDays(10), START.plusDays(10).plusHours(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should clamp monthly occurrences to the end of shorter months")
+    void testMonthlyUntil() {
+        LocalDateTime endOfMonth = LocalDateTime.of(2030, 1, 31, 9, 0);
+        ReservationSeries series = series(Frequency.MONTHLY, 1, LocalDateTime.of(2030, 4, 30, 9, 0), null);
+        series.setStartTime(endOfMonth);
+        series.setEndTime(endOfMonth.plusHours(1));
+
+        Recurrence monthly = Recurrence.of(series);
+
+        assertThat(monthly.occurrenceCount()).isEqualTo(4);
+        assertThat(monthly.startOf(1)).isEqualTo(LocalDateTime.of(2030, 2, 28, 9, 0));
+        assertThat(monthly.startOf(3)).isEqualTo(LocalDateTime.of(2030, 4, 30, 9, 0));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rules")
+    void testInvalidRules() {
+        assertThatThrownBy(() -> Recurrence.of(series(Frequency.DAILY, 1, null, null)))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        assertThatThrownBy(() -> Recurrence.of(series(Frequency.DAILY, 1, START.plusDays(3), 3)))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        assertThatThrownBy(() -> Recurrence.of(series(Frequency.DAILY, 0, null, 3)))
+                .isInstanceOf(InvalidReservationTimeException.class);
+
+        ReservationSeries tooLong = series(Frequency.DAILY, 1, null, 3);
+        tooLong.setEndTime(START.plusHours(25));
+        assertThatThrownBy(() -> Recurrence.of(tooLong))
+                .isInstanceOf(InvalidReservationTimeException.class);
+    }
+
+    @Test
+    @DisplayName("Should match a linear scan of every occurrence")
+    void testAgainstLinearScan() {
+        Recurrence weekly = Recurrence.of(series(Frequency.WEEKLY, 3, null, 40));
+
+        for (int hours = -200; hours < 40 * 3 * 7 * 24 + 200; hours += 7) {
+            LocalDateTime from = START.plusHours(hours);
+            LocalDateTime to = from.plusHours(30);
+            boolean expected = false;
+            for (long n = 0; n < weekly.occurrenceCount(); n++) {
+                expected |= weekly.startOf(n).isBefore(to) && weekly.endOf(n).isAfter(from);
+            }
+            assertThat(weekly.overlaps(from, to)).as("window from %s", from).isEqualTo(expected);
+        }
+    }
+
+    private static ReservationSeries series(Frequency frequency, int interval, LocalDateTime until, Integer count) {
+        ReservationSeries series = new ReservationSeries();
+        series.setRoomId("ROOM1");
+        series.setStartTime(START);
+        series.setEndTime(START.plusMinutes(15));
+        series.setUser("test-user");
+        series.setFrequency(frequency);
+        series.setIntervalCount(interval);
+        series.setUntil(until);
+        series.setOccurrenceCount(count);
+        return series;
+    }
+}
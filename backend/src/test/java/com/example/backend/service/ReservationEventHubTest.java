@@ -0,0 +1,116 @@
+package com.example.backend.service;
+
+import com.example.backend.controller.ReservationController;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.model.Reservation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ReservationEventHubTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+    private ReservationEventHub hub;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should stream deltas of the subscribed room as server-sent events")
+    void testStream() throws Exception {
+        hub = new ReservationEventHub(registry, 16, 100, 60_000, dispatcher);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new ReservationController(mock(ReservationService.class),
+                mock(ReservationExportService.class), mock(RoomVersions.class), hub)).build();
+
+        MvcResult result = mvc.perform(get("/api/reservations/ROOM1/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+
+        Reservation reservation = new Reservation("ROOM1", START, START.plusHours(1), "user");
+        hub.onReservationChanged(ReservationChangedEvent.created(reservation));
+        hub.onReservationChanged(ReservationChangedEvent.created(new Reservation("ROOM2", START, START, "user")));
+        reservation.setRoomId("ROOM2");
+        hub.onReservationChanged(ReservationChangedEvent.updated(reservation, "ROOM1", START, START.plusHours(1)));
+        hub.heartbeat();
+
+        String body = awaitContent(result.getResponse(), ":heartbeat");
+        assertThat(body).contains("event:created", reservation.getId().toString(), "\"roomId\":\"ROOM1\"");
+        // Toiseen huoneeseen siirretty varaus näkyy tilatulle huoneelle poistona
+        assertThat(body).contains("event:deleted").doesNotContain("ROOM2");
+    }
+
+    @Test
+    @DisplayName("Should coalesce a full buffer into resync and drop a subscriber that overflows again")
+    void testSlowSubscriber() throws Exception {
+        hub = new ReservationEventHub(registry, 2, 100, 60_000, dispatcher);
+        CountDownLatch release = new CountDownLatch(1);
+        // Jakelusäie on varattu, joten tilaajan jono ei tyhjene
+        dispatcher.execute(() -> await(release));
+        hub.subscribe("ROOM1");
+
+        for (int i = 0; i < 3; i++) {
+            hub.onReservationChanged(created(i));
+        }
+        assertThat(registry.get("reservation.events.coalesced").counter().count()).isEqualTo(1);
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+
+        for (int i = 0; i < 3; i++) {
+            hub.onReservationChanged(created(i));
+        }
+        assertThat(registry.get("reservation.events.dropped").counter().count()).isEqualTo(1);
+        assertThat(hub.subscriberCount()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers over the limit")
+    void testSubscriberLimit() {
+        hub = new ReservationEventHub(registry, 2, 1, 60_000, dispatcher);
+        hub.subscribe("ROOM1");
+
+        assertThatThrownBy(() -> hub.subscribe("ROOM2")).isInstanceOf(ServiceBusyException.class);
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+    }
+
+    private static ReservationChangedEvent created(int hour) {
+        return ReservationChangedEvent.created(
+                new Reservation("ROOM1", START.plusHours(hour), START.plusHours(hour + 1), "user"));
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String marker) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!response.getContentAsString().contains(marker) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return response.getContentAsString();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.model.Reservation;
+import com.example.backend.repository.ReservationRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ReservationExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ReservationExportServiceTest {
+
+    @Autowired
+    private ReservationExportService exportService;
+
+    @Autowired
+    private ReservationRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2030, 1, 7, 8, 0);
+        repository.save(new Reservation("ROOM1", start, start.plusHours(1), "anna"));
+        repository.save(new Reservation("ROOM1", start.plusHours(2), start.plusHours(3), "ville"));
+        repository.save(new Reservation("ROOM2", start.plusHours(1), start.plusHours(2), "anna"));
+        repository.save(new Reservation("ROOM2", start.plusDays(1), start.plusDays(1).plusHours(1), "anna"));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line in start time order")
+    void testExportAll() throws Exception {
+        List<JsonNode> lines = export(null, null, null, null);
+
+        assertThat(lines).extracting(node -> node.get("roomId").asText())
+                .containsExactly("ROOM1", "ROOM2", "ROOM1", "ROOM2");
+        assertThat(lines.get(0).get("user").asText()).isEqualTo("anna");
+    }
+
+    @Test
+    @DisplayName("Should filter by room, user and time window")
+    void testExportFilters() throws Exception {
+        assertThat(export(null, null, "ROOM1", null)).hasSize(2);
+        assertThat(export(null, null, null, "anna")).hasSize(3);
+        assertThat(export(start.plusMinutes(30), start.plusHours(2), null, null)).hasSize(2);
+        assertThat(export(start.plusDays(2), null, null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject inverted window")
+    void testExportInvalidWindow() {
+        assertThatThrownBy(() -> export(start, start, null, null))
+                .isInstanceOf(InvalidReservationTimeException.class);
+    }
+
+    private List<JsonNode> export(LocalDateTime from, LocalDateTime to, String roomId, String user)
+            throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportReservations(from, to, roomId, user, out);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        assertThat(lines).hasSize((int) count);
+        return lines;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Reservation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 8, 0);
+    private static final UUID A = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should detect overlaps like the linear scan")
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        ReservationIndex index = new ReservationIndex();
+        List<Reservation> reservations = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            Reservation reservation = randomReservation(random, "room-" + random.nextInt(5));
+            // Saman huoneen varaukset eivät leikkaa toisiaan (kuten päällekkäisyystarkistuksen jälkeen)
+            if (linearScan(reservations, reservation, null)) {
+                continue;
+            }
+            reservations.add(reservation);
+            index.put(reservation.getId(), reservation.getRoomId(),
+                    reservation.getStartTime(), reservation.getEndTime());
+        }
+        // Poistetaan osa, jotta myös poistot tulevat vertailluksi
+        for (int i = 0; i < 300; i++) {
+            Reservation removed = reservations.remove(random.nextInt(reservations.size()));
+            index.remove(removed.getId());
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            Reservation query = randomReservation(random, "room-" + random.nextInt(6));
+            UUID excludeId = random.nextInt(4) == 0
+                    ? reservations.get(random.nextInt(reservations.size())).getId()
+                    : null;
+
+            boolean expected = linearScan(reservations, query, excludeId);
+            boolean actual = index.hasOverlap(query.getRoomId(), query.getStartTime(), query.getEndTime(), excludeId);
+
+            assertThat(actual).as("query %s excluding %s", query, excludeId).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat adjacent reservations as non-overlapping")
+    void testAdjacentReservations() {
+        ReservationIndex index = new ReservationIndex();
+        index.put(A, "ROOM1", BASE, BASE.plusHours(1));
+
+        assertThat(index.hasOverlap("ROOM1", BASE.plusHours(1), BASE.plusHours(2), null)).isFalse();
+        assertThat(index.hasOverlap("ROOM1", BASE.minusHours(1), BASE, null)).isFalse();
+        assertThat(index.hasOverlap("ROOM1", BASE.plusMinutes(59), BASE.plusHours(2), null)).isTrue();
+        assertThat(index.hasOverlap("ROOM1", BASE.plusMinutes(10), BASE.plusMinutes(20), A)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should move reservation when it is put again")
+    void testPutReplacesPrevious() {
+        ReservationIndex index = new ReservationIndex();
+        index.put(A, "ROOM1", BASE, BASE.plusHours(1));
+        index.put(A, "ROOM1", BASE.plusHours(3), BASE.plusHours(4));
+
+        assertThat(index.size("ROOM1")).isEqualTo(1);
+        assertThat(index.hasOverlap("ROOM1", BASE, BASE.plusHours(1), null)).isFalse();
+        assertThat(index.hasOverlap("ROOM1", BASE.plusHours(3), BASE.plusHours(4), null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should probe a constant number of neighbours regardless of room history")
+    void testScannedEntriesStayConstant() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReservationIndex index = new ReservationIndex(registry);
+        // Yksi pitkä varaus ei saa laajentaa myöhempien tarkistusten hakuväliä
+        index.put(A, "ROOM1", BASE.minusYears(1), BASE);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime start = BASE.plusHours(i);
+            index.put(UUID.randomUUID(), "ROOM1", start, start.plusMinutes(30));
+        }
+
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            LocalDateTime start = BASE.plusMinutes(15L * random.nextInt(40_000));
+            index.hasOverlap("ROOM1", start, start.plusMinutes(15L * (1 + random.nextInt(8))), null);
+        }
+        index.hasOverlap("ROOM1", BASE.minusMonths(1), BASE.minusMonths(1).plusHours(1), A);
+
+        DistributionSummary scanned = registry.get("reservation.overlap.scanned").summary();
+        assertThat(scanned.count()).isEqualTo(1_001);
+        assertThat(scanned.max()).isLessThanOrEqualTo(3);
+    }
+
+    private static Reservation randomReservation(Random random, String roomId) {
+        LocalDateTime start = BASE.plusMinutes(15L * random.nextInt(20_000));
+        LocalDateTime end = start.plusMinutes(15L * (1 + random.nextInt(random.nextInt(10) == 0 ? 400 : 8)));
+        return new Reservation(roomId, start, end, "user");
+    }
+
+    private static boolean linearScan(List<Reservation> reservations, Reservation query, UUID excludeId) {
+        return reservations.stream()
+                .filter(r -> r.getRoomId().equals(query.getRoomId()))
+                .filter(r -> !r.getId().equals(excludeId))
+                .anyMatch(r -> query.getStartTime().isBefore(r.getEndTime())
+                        && query.getEndTime().isAfter(r.getStartTime()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.request.CreateSeriesRequest;
+import com.example.backend.dto.response.SeriesOccurrenceResponse;
+import com.example.backend.dto.response.SeriesResponse;
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.exception.RoomAlreadyBookedException;
+import com.example.backend.model.ReservationSeries;
+import com.example.backend.model.ReservationSeries.Frequency;
+import com.example.backend.repository.ReservationSeriesRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSeriesServiceTest {
+
+    @Mock
+    private ReservationSeriesRepository repository;
+
+    @Spy
+    private ReservationIndex index = new ReservationIndex();
+
+    @Spy
+    private RoomLocks locks = new RoomLocks(16);
+
+    @InjectMocks
+    private ReservationSeriesService seriesService;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    @DisplayName("Should store one rule row and index it for conflict checks")
+    void testCreateSeries() {
+        when(repository.save(any(ReservationSeries.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SeriesResponse response = seriesService.createSeries(weekly(start, 12));
+
+        ArgumentCaptor<ReservationSeries> captor = ArgumentCaptor.forClass(ReservationSeries.class);
+        verify(repository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getOccurrenceCount()).isEqualTo(12);
+        assertThat(response.getOccurrences()).isEqualTo(12);
+        assertThat(response.getLastEndTime()).isEqualTo(start.plusWeeks(11).plusMinutes(15));
+        assertThat(index.hasOverlap("ROOM1", start.plusWeeks(5), start.plusWeeks(5).plusMinutes(5), null)).isTrue();
+        assertThat(index.hasOverlap("ROOM1", start.plusWeeks(12), start.plusWeeks(12).plusMinutes(5), null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a series whose occurrence hits an existing reservation")
+    void testCreateSeriesConflict() {
+        index.put(UUID.randomUUID(), "ROOM1", start.plusWeeks(7).plusMinutes(10), start.plusWeeks(7).plusHours(1));
+
+        assertThatThrownBy(() -> seriesService.createSeries(weekly(start, 12)))
+                .isInstanceOf(RoomAlreadyBookedException.class);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a series with too many occurrences")
+    void testCreateSeriesTooLong() {
+        assertThatThrownBy(() -> seriesService.createSeries(
+                weekly(start, ReservationSeriesService.MAX_OCCURRENCES + 1)))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should expand occurrences of all room series within the window in start order")
+    void testGetOccurrences() {
+        ReservationSeries mornings = toSeries(weekly(start, 52));
+        ReservationSeries evenings = toSeries(weekly(start.plusHours(8), 52));
+        when(repository.findByRoomId("ROOM1")).thenReturn(List.of(evenings, mornings));
+
+        List<SeriesOccurrenceResponse> occurrences =
+                seriesService.getOccurrences("ROOM1", start.plusWeeks(20), start.plusWeeks(22));
+
+        assertThat(occurrences).extracting(SeriesOccurrenceResponse::getStartTime).containsExactly(
+                start.plusWeeks(20), start.plusWeeks(20).plusHours(8),
+                start.plusWeeks(21), start.plusWeeks(21).plusHours(8));
+        assertThat(occurrences.get(0).getIndex()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should refuse to expand an unbounded window")
+    void testGetOccurrencesWindowTooLong() {
+        assertThatThrownBy(() -> seriesService.getOccurrences("ROOM1", start, start.plusYears(5)))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        verify(repository, never()).findByRoomId(any());
+    }
+
+    private static CreateSeriesRequest weekly(LocalDateTime first, int count) {
+        return new CreateSeriesRequest("ROOM1", first, first.plusMinutes(15), "test-user",
+                Frequency.WEEKLY, 1, null, count);
+    }
+
+    private static ReservationSeries toSeries(CreateSeriesRequest request) {
+        ReservationSeries series = new ReservationSeries();
+        series.setRoomId(request.getRoomId());
+        series.setStartTime(request.getStartTime());
+        series.setEndTime(request.getEndTime());
+        series.setUser(request.getUser());
+        series.setFrequency(request.getFrequency());
+        series.setIntervalCount(request.getInterval());
+        series.setOccurrenceCount(request.getCount());
+        return series;
+    }
+}
@@ -1,82 +1,232 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.dto.response.ReservationPage;
 import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.exception.InvalidReservationTimeException;
+import com.example.backend.exception.ReservationException;
+import com.example.backend.exception.RoomAlreadyBookedException;
+import com.example.backend.model.Reservation;
+import com.example.backend.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+@ExtendWith(MockitoExtension.class)
 class ReservationServiceTest {
 
+    @Mock
+    private ReservationRepository repository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private ReservationIndex index = new ReservationIndex(registry);
+
+    @Spy
+    private RoomLocks locks = new RoomLocks(16);
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private RoomVersions versions;
+
+    @Spy
+    private ServiceMetrics metrics = new ServiceMetrics(registry);
+
     @InjectMocks
     private ReservationService reservationService;
 
+    private LocalDateTime start;
+    private Reservation existing;
+
     @BeforeEach
     void setUp() {
-        // Initialize test fixtures
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        existing = new Reservation("ROOM1", start, start.plusHours(1), "test-user");
+        index.put(existing.getId(), existing.getRoomId(), existing.getStartTime(), existing.getEndTime());
     }
 
     @Test
     @DisplayName("Should get_reservations_by_room successfully")
     void testGetReservationsByRoom() {
         // Arrange
+        when(repository.findWindowAfter(eq("ROOM1"), any(), any(), any(), any(), eq(new UUID(0L, 0L)), any()))
+                .thenReturn(List.of(response(existing)));
 
         // Act
-        List<ReservationResponse> result = reservationService.getReservationsByRoom("test-value");
+        ReservationPage result = reservationService.getReservationsByRoom("ROOM1", null, null, null, 10);
 
         // Assert
-        assertThat(result).isNotNull();
+        assertThat(result.getItems()).extracting(ReservationResponse::getId).containsExactly(existing.getId().toString());
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should bound page size and continue from the returned cursor")
+    void testGetReservationsByRoomPaging() {
+        // Arrange
+        Reservation second = new Reservation("ROOM1", start.plusHours(1), start.plusHours(2), "test-user");
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(repository.findWindowAfter(eq("ROOM1"), any(), any(), any(), any(), any(), pageable.capture()))
+                .thenReturn(List.of(response(existing), response(second)))
+                .thenReturn(List.of(response(second)));
+
+        // Act
+        ReservationPage first = reservationService.getReservationsByRoom("ROOM1", null, null, null, 1);
+        reservationService.getReservationsByRoom("ROOM1", null, null, first.getNextCursor(), 10_000);
+
+        // Assert
+        assertThat(first.getItems()).hasSize(1);
+        assertThat(first.getNextCursor()).isNotNull();
+        verify(repository).findWindowAfter(eq("ROOM1"), any(), any(), eq(existing.getStartTime()),
+                eq(existing.getStartTime()), eq(existing.getId()), any());
+        assertThat(pageable.getAllValues()).extracting(Pageable::getPageSize)
+                .containsExactly(2, ReservationService.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor and inverted window")
+    void testGetReservationsByRoomInvalidArguments() {
+        assertThatThrownBy(() -> reservationService.getReservationsByRoom("ROOM1", null, null, "not-a-cursor", 10))
+                .isInstanceOf(ReservationException.class);
+        assertThatThrownBy(() -> reservationService.getReservationsByRoom("ROOM1", start, start, null, 10))
+                .isInstanceOf(InvalidReservationTimeException.class);
+    }
+
+    @Test
+    @DisplayName("Should start the window query max-duration before the window")
+    void testGetReservationsByRoomBoundsStart() {
+        when(repository.findWindowAfter(eq("ROOM1"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        reservationService.getReservationsByRoom("ROOM1", start, start.plusDays(7), null, 10);
+
+        verify(repository).findWindowAfter(eq("ROOM1"), eq(start), eq(start.plusDays(7)), eq(start.minusDays(7)),
+                any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject reservations longer than the maximum duration")
+    void testCreateReservationTooLong() {
+        CreateReservationRequest request = new CreateReservationRequest(
+                "ROOM2", start, start.plusDays(7).plusMinutes(1), "test-user");
+
+        assertThatThrownBy(() -> reservationService.createReservation(request))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        assertThatThrownBy(() -> reservationService.updateReservation(existing.getId().toString(), request))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        verify(repository, never()).save(any());
     }
 
     @Test
     @DisplayName("Should get_reservation_by_id successfully")
     void testGetReservationById() {
         // Arrange
+        when(repository.findResponseById(existing.getId())).thenReturn(Optional.of(response(existing)));
 
         // Act
-        ReservationResponse result = reservationService.getReservationById("test-value");
+        ReservationResponse result = reservationService.getReservationById(existing.getId().toString());
 
         // Assert
         assertThat(result).isNotNull();
+        assertThat(result.getRoomId()).isEqualTo("ROOM1");
     }
 
     @Test
     @DisplayName("Should create_reservation successfully")
     void testCreateReservation() {
         // Arrange
+        when(repository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        CreateReservationRequest request = new CreateReservationRequest(
+                "ROOM1", start.plusHours(1), start.plusHours(2), "other-user");
 
         // Act
-        ReservationResponse result = reservationService.createReservation(null);
+        ReservationResponse result = reservationService.createReservation(request);
 
         // Assert
         assertThat(result).isNotNull();
+        assertThat(index.size("ROOM1")).isEqualTo(2);
+        verify(versions).bump("ROOM1");
+    }
+
+    @Test
+    @DisplayName("Should reject overlapping reservation without loading room history")
+    void testCreateReservationOverlap() {
+        CreateReservationRequest request = new CreateReservationRequest(
+                "ROOM1", start.plusMinutes(30), start.plusHours(2), "other-user");
+
+        assertThatThrownBy(() -> reservationService.createReservation(request))
+                .isInstanceOf(RoomAlreadyBookedException.class);
+        verify(repository, never()).save(any());
+        verify(versions, never()).bump(any());
+        assertThat(registry.get(ReservationService.OPERATION_TIMER)
+                .tags("operation", "create", "outcome", ServiceMetrics.CONFLICT).timer().count()).isEqualTo(1);
+        assertThat(registry.get("reservation.overlap.scanned").summary().count()).isEqualTo(1);
     }
 
     @Test
     @DisplayName("Should update_reservation successfully")
     void testUpdateReservation() {
         // Arrange
+        when(repository.findById(existing.getId())).thenReturn(Optional.of(existing));
+        when(repository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        CreateReservationRequest request = new CreateReservationRequest(
+                "ROOM2", start.plusMinutes(30), start.plusHours(2), "test-user");
 
         // Act
-        ReservationResponse result = reservationService.updateReservation("test-value", null);
+        ReservationResponse result = reservationService.updateReservation(existing.getId().toString(), request);
 
         // Assert
-        assertThat(result).isNotNull();
+        assertThat(result.getRoomId()).isEqualTo("ROOM2");
+        assertThat(index.size("ROOM1")).isZero();
+        assertThat(index.size("ROOM2")).isEqualTo(1);
+        // Kummankin huoneen lista muuttui
+        verify(versions).bump("ROOM1");
+        verify(versions).bump("ROOM2");
     }
 
     @Test
     @DisplayName("Should delete_reservation successfully")
     void testDeleteReservation() {
         // Arrange
+        when(repository.findById(existing.getId())).thenReturn(Optional.of(existing));
 
         // Act
-        reservationService.deleteReservation("test-value");
+        reservationService.deleteReservation(existing.getId().toString());
 
         // Assert
-        // TODO: Verify side effects using Mockito.verify()
+        verify(repository).delete(existing);
+        assertThat(index.size("ROOM1")).isZero();
+        ArgumentCaptor<ReservationChangedEvent> event = ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(events).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(ReservationChangedEvent.Type.DELETED);
+        assertThat(event.getValue().getPreviousRoomId()).isEqualTo("ROOM1");
+        verify(versions).bump("ROOM1");
+    }
+
+    private static ReservationResponse response(Reservation reservation) {
+        return new ReservationResponse(reservation.getId(), reservation.getRoomId(), reservation.getStartTime(),
+                reservation.getEndTime(), reservation.getUser(), reservation.getCreatedAt(), reservation.getUpdatedAt());
     }
 }
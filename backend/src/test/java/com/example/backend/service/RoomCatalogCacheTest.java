@@ -0,0 +1,80 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.model.Room;
+import com.example.backend.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomCatalogCacheTest {
+
+    private RoomRepository roomRepository;
+    private SimpleMeterRegistry registry;
+    private RoomCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = mock(RoomRepository.class);
+        registry = new SimpleMeterRegistry();
+        cache = new RoomCatalogCache(roomRepository, registry);
+    }
+
+    @Test
+    @DisplayName("Should load active rooms once and serve an immutable snapshot")
+    void testReadThrough() {
+        when(roomRepository.findByIsActiveTrue()).thenReturn(List.of(new Room("ROOM1", "Neukkari", 8)));
+
+        List<RoomResponse> first = cache.getActiveRooms();
+        List<RoomResponse> second = cache.getActiveRooms();
+
+        assertThat(second).isSameAs(first).extracting(RoomResponse::getId).containsExactly("ROOM1");
+        assertThatThrownBy(() -> first.add(null)).isInstanceOf(UnsupportedOperationException.class);
+        verify(roomRepository, times(1)).findByIsActiveTrue();
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+        assertThat(registry.get("room.catalog.reload").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation")
+    void testInvalidate() {
+        when(roomRepository.findByIsActiveTrue())
+                .thenReturn(List.of(new Room("ROOM1", "Neukkari", 8)))
+                .thenReturn(List.of(new Room("ROOM1", "Neukkari", 8), new Room("ROOM2", "Sali", 40)));
+
+        cache.getActiveRooms();
+        cache.invalidate();
+
+        assertThat(cache.getActiveRooms()).extracting(RoomResponse::getId).containsExactly("ROOM1", "ROOM2");
+        verify(roomRepository, times(2)).findByIsActiveTrue();
+    }
+
+    @Test
+    @DisplayName("Should not keep a snapshot loaded while a room change was committed")
+    void testInvalidateDuringLoad() {
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(roomRepository.findByIsActiveTrue()).thenAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                // Huonetta muutetaan samaan aikaan, kun luetteloa ladataan
+                cache.invalidate();
+                return List.of(new Room("ROOM1", "Vanha nimi", 8));
+            }
+            return List.of(new Room("ROOM1", "Uusi nimi", 8));
+        });
+
+        cache.getActiveRooms();
+
+        assertThat(cache.getActiveRooms()).extracting(RoomResponse::getName).containsExactly("Uusi nimi");
+        assertThat(cache.getActiveRooms()).extracting(RoomResponse::getName).containsExactly("Uusi nimi");
+        verify(roomRepository, times(2)).findByIsActiveTrue();
+    }
+}
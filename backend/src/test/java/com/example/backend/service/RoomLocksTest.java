@@ -0,0 +1,279 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.exception.ReservationException;
+import com.example.backend.exception.RoomAlreadyBookedException;
+import com.example.backend.model.Reservation;
+import com.example.backend.repository.ReservationRepository;
+import com.example.backend.repository.RoomVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomLocksTest {
+
+    private static final int THREADS = 8;
+    private static final int SLOTS = 50;
+    private static final int ROUNDS = 200;
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(30).withNano(0);
+
+    @Test
+    @DisplayName("Should round stripe count up to a power of two")
+    void testStripeCount() {
+        assertThat(new RoomLocks(1).stripeCount()).isEqualTo(1);
+        assertThat(new RoomLocks(64).stripeCount()).isEqualTo(64);
+        assertThat(new RoomLocks(100).stripeCount()).isEqualTo(128);
+    }
+
+    @Test
+    @DisplayName("Should let a room on another stripe proceed while one room is locked")
+    void testDifferentRoomsRunInParallel() throws Exception {
+        RoomLocks locks = new RoomLocks(64);
+        String roomA = "room-a";
+        String roomB = roomOnOtherStripe(locks, roomA);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> locks.withRoomLock(roomA, () -> {
+                holding.countDown();
+                await(release);
+                return null;
+            }));
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Huone B ei saa jäädä odottamaan huoneen A lukkoa
+            assertThat(locks.withRoomLock(roomB, () -> "done")).isEqualTo("done");
+            assertThat(locks.withRoomLocks(roomB, roomB, () -> "same")).isEqualTo("same");
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should never double book a room under concurrent writes")
+    void testNoDoubleBookingsUnderContention() throws Exception {
+        RunResult locked = run(new RoomLocks(64), 1);
+
+        assertThat(locked.created).isEqualTo(SLOTS);
+        assertThat(locked.conflicts).isEqualTo(SLOTS * (THREADS - 1));
+        assertThat(locked.saved).isEqualTo(SLOTS);
+    }
+
+    @Test
+    @DisplayName("Should accept every booking when each thread writes to its own room")
+    void testDifferentRoomsDoNotConflict() throws Exception {
+        // Jokainen säie varaa omaa huonettaan; läpäisykyvyn mittaus: RoomLockBenchmark (-Pbenchmark)
+        RunResult ownRooms = run(new RoomLocks(64), THREADS);
+
+        assertThat(ownRooms.created).isEqualTo(SLOTS * THREADS);
+        assertThat(ownRooms.conflicts).isZero();
+        assertThat(ownRooms.saved).isEqualTo(SLOTS * THREADS);
+    }
+
+    @Test
+    @DisplayName("Should keep one index entry when two updates move the same reservation concurrently")
+    void testConcurrentUpdatesKeepIndexConsistent() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Map<UUID, Reservation> rows = new ConcurrentHashMap<>();
+            ReservationIndex index = new ReservationIndex();
+            ReservationService service = inMemoryService(rows, index);
+            Reservation reservation = storeReservation(rows, index, "room-a");
+            String id = reservation.getId().toString();
+
+            race(() -> service.updateReservation(id, moveRequest(reservation, "room-b")),
+                    () -> service.updateReservation(id, moveRequest(reservation, "room-c")));
+
+            String roomId = rows.get(reservation.getId()).getRoomId();
+            assertThat(index.roomOf(reservation.getId())).isEqualTo(roomId);
+            assertThat(index.size("room-a")).isZero();
+            assertThat(index.size("room-b") + index.size("room-c")).isEqualTo(1);
+            assertThat(index.size(roomId)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave no index entry when an update races a delete")
+    void testConcurrentUpdateAndDeleteKeepIndexConsistent() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Map<UUID, Reservation> rows = new ConcurrentHashMap<>();
+            ReservationIndex index = new ReservationIndex();
+            ReservationService service = inMemoryService(rows, index);
+            Reservation reservation = storeReservation(rows, index, "room-a");
+            String id = reservation.getId().toString();
+
+            race(() -> {
+                try {
+                    service.updateReservation(id, moveRequest(reservation, "room-b"));
+                } catch (ReservationException e) {
+                    // Poisto ehti ensin
+                }
+            }, () -> service.deleteReservation(id));
+
+            assertThat(rows).isEmpty();
+            assertThat(index.roomOf(reservation.getId())).isNull();
+            assertThat(index.size("room-a")).isZero();
+            assertThat(index.size("room-b")).isZero();
+        }
+    }
+
+    /**
+     * Palvelu, jonka repository tallentaa rivit muistiin ja palauttaa findById:llä irrotetun kopion
+     * (kuten ilman ulompaa transaktiota)
+     */
+    private static ReservationService inMemoryService(Map<UUID, Reservation> rows, ReservationIndex index) {
+        ReservationRepository repository = mock(ReservationRepository.class);
+        when(repository.findById(any(UUID.class))).thenAnswer(invocation -> {
+            // Tietokannan kiertoviive levittää kilpailutilanteen ikkunaa
+            LockSupport.parkNanos(20_000);
+            return Optional.ofNullable(rows.get(invocation.<UUID>getArgument(0))).map(RoomLocksTest::copy);
+        });
+        when(repository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            rows.put(reservation.getId(), copy(reservation));
+            return reservation;
+        });
+        doAnswer(invocation -> rows.remove(invocation.<Reservation>getArgument(0).getId()))
+                .when(repository).delete(any(Reservation.class));
+        return new ReservationService(repository, index, new RoomLocks(64), event -> { },
+                new RoomVersions(mock(RoomVersionRepository.class)), new ServiceMetrics(new SimpleMeterRegistry()));
+    }
+
+    private static Reservation storeReservation(Map<UUID, Reservation> rows, ReservationIndex index, String roomId) {
+        Reservation reservation = new Reservation(roomId, BASE, BASE.plusHours(1), "user");
+        rows.put(reservation.getId(), copy(reservation));
+        index.put(reservation.getId(), roomId, reservation.getStartTime(), reservation.getEndTime());
+        return reservation;
+    }
+
+    private static CreateReservationRequest moveRequest(Reservation reservation, String roomId) {
+        return new CreateReservationRequest(roomId, reservation.getStartTime(), reservation.getEndTime(), "user");
+    }
+
+    private static Reservation copy(Reservation reservation) {
+        Reservation copy = new Reservation(reservation.getRoomId(), reservation.getStartTime(),
+                reservation.getEndTime(), reservation.getUser());
+        copy.setId(reservation.getId());
+        return copy;
+    }
+
+    /**
+     * Käynnistää kaksi toimintoa mahdollisimman yhtä aikaa ja odottaa molemmat
+     */
+    private static void race(Runnable first, Runnable second) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = executor.submit(() -> {
+                await(start);
+                first.run();
+            });
+            Future<?> b = executor.submit(() -> {
+                await(start);
+                second.run();
+            });
+            start.countDown();
+            a.get(10, TimeUnit.SECONDS);
+            b.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ajaa THREADS säiettä, jotka kaikki yrittävät varata samat SLOTS aikaa huoneisiin
+     * (säie i käyttää huonetta i % rooms)
+     */
+    private static RunResult run(RoomLocks locks, int rooms) throws Exception {
+        ReservationRepository repository = mock(ReservationRepository.class);
+        AtomicInteger saved = new AtomicInteger();
+        when(repository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            // Tietokannan kiertoviive levittää kilpailutilanteen ikkunaa
+            LockSupport.parkNanos(50_000);
+            saved.incrementAndGet();
+            return invocation.getArgument(0);
+        });
+        ReservationService service = new ReservationService(repository, new ReservationIndex(), locks, event -> { },
+                new RoomVersions(mock(RoomVersionRepository.class)), new ServiceMetrics(new SimpleMeterRegistry()));
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            String roomId = "room-" + (t % rooms);
+            futures.add(executor.submit(() -> {
+                await(start);
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    LocalDateTime from = BASE.plusHours(slot);
+                    try {
+                        service.createReservation(
+                                new CreateReservationRequest(roomId, from, from.plusHours(1), "user"));
+                        created.incrementAndGet();
+                    } catch (RoomAlreadyBookedException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return new RunResult(created.get(), conflicts.get(), saved.get());
+    }
+
+    private static String roomOnOtherStripe(RoomLocks locks, String roomId) {
+        for (int i = 0; ; i++) {
+            String candidate = "room-" + i;
+            if (locks.stripeOf(candidate) != locks.stripeOf(roomId)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RunResult {
+        private final int created;
+        private final int conflicts;
+        private final int saved;
+
+        private RunResult(int created, int conflicts, int saved) {
+            this.created = created;
+            this.conflicts = conflicts;
+            this.saved = saved;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.RoomVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RoomVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomVersionsTest {
+
+    @Autowired
+    private RoomVersions versions;
+
+    @Autowired
+    private RoomVersionRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should start at zero and bump the stored version")
+    void testBump() {
+        assertThat(versions.current("ROOM1")).isZero();
+
+        versions.bump("ROOM1");
+        versions.bump("ROOM1");
+
+        assertThat(versions.current("ROOM1")).isEqualTo(2);
+        assertThat(repository.findVersion("ROOM1")).contains(2L);
+        assertThat(versions.current("ROOM2")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should serve the cached version until other instances' writes are refreshed")
+    void testRefresh() {
+        versions.bump("ROOM1");
+        assertThat(versions.current("ROOM1")).isEqualTo(1);
+
+        // Toisen instanssin kirjoitus
+        repository.bump("ROOM1");
+        assertThat(versions.current("ROOM1")).isEqualTo(1);
+
+        versions.refresh();
+        assertThat(versions.current("ROOM1")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should format a strong ETag")
+    void testEtag() {
+        assertThat(RoomVersions.etag(42)).isEqualTo("\"42\"");
+    }
+}
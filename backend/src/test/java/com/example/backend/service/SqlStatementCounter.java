@@ -0,0 +1,25 @@
+package com.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Laskee Hibernaten valmistelemat SQL-lauseet (tietokantakierrokset) toiminnon aikana.
+ * JDBC-eräajona lähetetyt lauseet lasketaan yhdeksi. Vaatii
+ * hibernate.generate_statistics=true (application-test.properties).
+ */
+final class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    long count(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.request.BatchReservationRequest;
+import com.example.backend.dto.request.CreateReservationRequest;
+import com.example.backend.dto.request.CreateSeriesRequest;
+import com.example.backend.dto.request.RoomRequest;
+import com.example.backend.dto.response.ReservationResponse;
+import com.example.backend.dto.response.RoomResponse;
+import com.example.backend.model.ReservationSeries;
+import com.example.backend.repository.ReservationRepository;
+import com.example.backend.repository.ReservationSeriesRepository;
+import com.example.backend.repository.RoomRepository;
+import com.example.backend.repository.RoomVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL-lauseiden määrä jokaisessa kirjoittavassa palvelutoiminnossa. Lisäkierros (esim.
+ * SELECT ennen INSERTiä) kaataa testin; jos muutos on tarkoituksellinen, päivitä odotettu määrä.
+ * Testit eivät käytä testitransaktiota, jotta jokainen toiminto commitoidaan kuten tuotannossa.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ ReservationService.class, ReservationSeriesService.class, AdminService.class, RoomCatalogCache.class,
+        ReservationIndex.class, RoomLocks.class, RoomVersions.class, ServiceMetrics.class, SimpleMeterRegistry.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WriteStatementCountTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(7).withNano(0);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationSeriesService seriesService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationSeriesRepository seriesRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomVersionRepository roomVersionRepository;
+
+    @Autowired
+    private ReservationIndex index;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter sql;
+
+    @BeforeEach
+    void setUp() {
+        sql = new SqlStatementCounter(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        seriesRepository.deleteAll();
+        roomRepository.deleteAll();
+        roomVersionRepository.deleteAll();
+        index.clear();
+    }
+
+    @Test
+    @DisplayName("Should insert a reservation without a preceding SELECT")
+    void testCreateReservation() {
+        long statements = sql.count(() -> reservationService.createReservation(request(0)));
+
+        // INSERT ja huoneen versio (MERGE)
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should insert a batch as one JDBC batch")
+    void testCreateBatch() {
+        long statements = sql.count(() -> reservationService.createReservations(
+                List.of(request(0), request(2), request(4)), BatchReservationRequest.Mode.ALL_OR_NOTHING));
+
+        // Yksi INSERT-erä kolmelle riville ja yksi versio huonetta kohden
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should update a reservation with load, merge and update")
+    void testUpdateReservation() {
+        ReservationResponse created = reservationService.createReservation(request(0));
+
+        long statements = sql.count(() -> reservationService.updateReservation(created.getId(), request(2)));
+
+        // findById, merge-SELECT (irrotettu olio), UPDATE ja huoneen versio
+        assertThat(statements).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should delete a reservation")
+    void testDeleteReservation() {
+        ReservationResponse created = reservationService.createReservation(request(0));
+
+        long statements = sql.count(() -> reservationService.deleteReservation(created.getId()));
+
+        // findById, SimpleJpaRepository.delete-haku, DELETE ja huoneen versio
+        assertThat(statements).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should insert a series without a preceding SELECT")
+    void testCreateSeries() {
+        long statements = sql.count(() -> seriesService.createSeries(new CreateSeriesRequest("ROOM1", START,
+                START.plusHours(1), "user", ReservationSeries.Frequency.WEEKLY, 1, null, 4)));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should insert a room without existsById or merge SELECTs")
+    void testCreateRoom() {
+        long statements = sql.count(() -> adminService.createRoom(room("Neuvotteluhuone")));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should update and deactivate a room")
+    void testUpdateAndDeleteRoom() {
+        RoomResponse created = adminService.createRoom(room("Neuvotteluhuone"));
+
+        long updated = sql.count(() -> adminService.updateRoom(created.getId(), room("Kokoushuone")));
+        long deleted = sql.count(() -> adminService.deleteRoom(created.getId()));
+
+        // Haku ja merge luetaan toisen tason välimuistista; jäljelle jää UPDATE
+        assertThat(updated).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+    }
+
+    private static CreateReservationRequest request(int hour) {
+        return new CreateReservationRequest("ROOM1", START.plusHours(hour), START.plusHours(hour + 1), "user");
+    }
+
+    private static RoomRequest room(String name) {
+        RoomRequest request = new RoomRequest();
+        request.setName(name);
+        request.setCapacity(8);
+        return request;
+    }
+}
@@ -0,0 +1,3 @@
+-- H2-vastine PostgreSQL:n osittaisille indekseille (H2 ei tue WHERE- eikä lauseke-indeksejä)
+
+CREATE INDEX IF NOT EXISTS idx_rooms_active_capacity ON rooms (is_active, capacity, room_name);
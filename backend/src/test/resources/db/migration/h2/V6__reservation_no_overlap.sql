@@ -0,0 +1,4 @@
+-- H2-vastine PostgreSQL:n exclusion constraintille (H2 ei tue niitä): sama sääntö triggerillä
+CREATE TRIGGER IF NOT EXISTS reservations_no_overlap
+    BEFORE INSERT, UPDATE ON reservations
+    FOR EACH ROW CALL 'com.example.backend.config.H2ReservationOverlapTrigger';